@@ -0,0 +1,23 @@
+-- =============================================================================
+-- Migration: 002_use_count_flush.sql
+-- Description: use_count 증분 flush가 updated_at을 갱신하지 않도록 트리거 조건 변경
+-- Created: 2026-10-17
+-- =============================================================================
+-- API 서버는 use_count 증분을 JVM에 모아 주기적으로
+--   UPDATE templates SET use_count = use_count + d.delta FROM (VALUES ...) d ...
+-- 형태로 반영한다. 기존 trg_templates_set_updated_at 트리거는 모든 UPDATE에서
+-- updated_at 을 now() 로 덮어써 사용량만으로 목록(updated_at DESC) 순서가 바뀌었다.
+-- 트리거를 메타데이터 컬럼이 SET 절에 포함된 UPDATE에서만 실행되도록 제한한다.
+-- =============================================================================
+
+BEGIN;
+
+DROP TRIGGER IF EXISTS trg_templates_set_updated_at ON public.templates;
+
+CREATE TRIGGER trg_templates_set_updated_at
+    BEFORE UPDATE OF owner_id, title, description, is_public, storage_path
+    ON public.templates
+    FOR EACH ROW
+    EXECUTE FUNCTION public.set_updated_at();
+
+COMMIT;
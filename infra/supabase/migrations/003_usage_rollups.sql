@@ -0,0 +1,98 @@
+-- =============================================================================
+-- Migration: 003_usage_rollups.sql
+-- Description: usage_events 사전 집계(rollup) 테이블과 증분 집계 상태, 보관(archive) 테이블
+-- Created: 2026-10-17
+-- =============================================================================
+-- Tables    : usage_hourly, usage_daily, usage_rollup_state, usage_events_archive
+-- API 서버의 UsageRollupJob이 high-water mark 이후의 usage_events를 주기적으로
+-- usage_hourly에 누적하고, 영향받은 날짜의 usage_daily를 재계산한다.
+-- 랭킹 쿼리는 rollup + high-water mark 이후의 원본 이벤트만 읽으므로
+-- 비용이 이벤트 수가 아닌 템플릿 수에 비례한다.
+-- 보관 정책:
+-- - UsageRollupJob 은 보관 기간이 지난 usage_hourly 행만 삭제한다 (usage_daily 는 유지).
+-- - 원본 usage_events 보관은 007 마이그레이션 이후 주간 파티션 단위로 처리한다.
+--   UsagePartitionManager 가 기간이 지난 파티션을 (archive 모드면 usage_events_archive 로 복사한 뒤)
+--   DETACH + DROP 하며, 원본 이벤트를 행 단위로 나눠 DELETE 하는 작업은 없다.
+-- =============================================================================
+
+BEGIN;
+
+-- ---------------------------------------------------------------------------
+-- 1. TABLES
+-- ---------------------------------------------------------------------------
+
+-- 1-1. usage_hourly: 템플릿별 시간 단위 사용 횟수 (bucket = UTC 정시)
+CREATE TABLE IF NOT EXISTS public.usage_hourly (
+    template_id uuid        NOT NULL REFERENCES public.templates(id) ON DELETE CASCADE,
+    bucket      timestamptz NOT NULL,
+    use_count   bigint      NOT NULL CHECK (use_count >= 0),
+    PRIMARY KEY (template_id, bucket)
+);
+
+COMMENT ON TABLE public.usage_hourly IS
+    'Hourly usage rollup of usage_events, maintained incrementally by the API rollup job.';
+
+-- 1-2. usage_daily: 템플릿별 일 단위 사용 횟수 (bucket = UTC 날짜)
+CREATE TABLE IF NOT EXISTS public.usage_daily (
+    template_id uuid    NOT NULL REFERENCES public.templates(id) ON DELETE CASCADE,
+    bucket      date    NOT NULL,
+    use_count   bigint  NOT NULL CHECK (use_count >= 0),
+    PRIMARY KEY (template_id, bucket)
+);
+
+COMMENT ON TABLE public.usage_daily IS
+    'Daily usage rollup recomputed from usage_hourly for the days touched by each rollup run.';
+
+-- 1-3. usage_rollup_state: 증분 집계 high-water mark
+-- used_at <= high_water_mark 인 이벤트는 이미 usage_hourly에 반영되어 있다.
+CREATE TABLE IF NOT EXISTS public.usage_rollup_state (
+    name            text        PRIMARY KEY,
+    high_water_mark timestamptz NOT NULL
+);
+
+INSERT INTO public.usage_rollup_state (name, high_water_mark)
+VALUES ('usage_events', '1970-01-01 00:00:00+00')
+ON CONFLICT (name) DO NOTHING;
+
+-- 1-4. usage_events_archive: 보관 기간이 지난 원본 이벤트 (usage.retention.mode=archive,
+--      UsagePartitionManager 가 파티션을 분리하기 전에 복사한다)
+CREATE TABLE IF NOT EXISTS public.usage_events_archive (
+    LIKE public.usage_events INCLUDING DEFAULTS
+);
+
+COMMENT ON TABLE public.usage_events_archive IS
+    'Raw usage_events moved out of the hot table by the retention job (archive mode).';
+
+
+-- ---------------------------------------------------------------------------
+-- 2. INDEXES
+-- ---------------------------------------------------------------------------
+
+-- 주간 집계 범위 조회
+CREATE INDEX IF NOT EXISTS idx_usage_hourly_bucket
+    ON public.usage_hourly (bucket);
+
+CREATE INDEX IF NOT EXISTS idx_usage_daily_bucket
+    ON public.usage_daily (bucket);
+
+-- high-water mark 이후 원본 이벤트 조회 (보관 기간 경과 이벤트는 파티션 단위로 정리)
+CREATE INDEX IF NOT EXISTS idx_usage_events_used_at
+    ON public.usage_events (used_at);
+
+
+-- ---------------------------------------------------------------------------
+-- 3. ROW LEVEL SECURITY
+-- ---------------------------------------------------------------------------
+
+-- API 서버 전용 테이블: 정책을 두지 않아 클라이언트 SDK 접근은 모두 차단된다.
+ALTER TABLE public.usage_hourly         ENABLE ROW LEVEL SECURITY;
+ALTER TABLE public.usage_daily          ENABLE ROW LEVEL SECURITY;
+ALTER TABLE public.usage_rollup_state   ENABLE ROW LEVEL SECURITY;
+ALTER TABLE public.usage_events_archive ENABLE ROW LEVEL SECURITY;
+
+REVOKE ALL ON public.usage_hourly         FROM anon, authenticated;
+REVOKE ALL ON public.usage_daily          FROM anon, authenticated;
+REVOKE ALL ON public.usage_rollup_state   FROM anon, authenticated;
+REVOKE ALL ON public.usage_events_archive FROM anon, authenticated;
+
+COMMIT;
@@ -0,0 +1,27 @@
+-- =============================================================================
+-- Migration: 004_templates_keyset_indexes.sql
+-- Description: 템플릿 목록 keyset 페이지네이션용 (updated_at, id) 인덱스
+-- Created: 2026-10-17
+-- =============================================================================
+-- GET /api/templates?limit=N&cursor=... 는
+--   WHERE <visibility> AND (updated_at, id) < (:updated_at, :id)
+--   ORDER BY updated_at DESC, id DESC LIMIT N
+-- 형태로 조회한다. 필터별로 정렬 순서와 같은 인덱스를 두어 정렬 없이 N건만 읽도록 한다.
+-- =============================================================================
+
+BEGIN;
+
+-- filter=all: 공개 OR 본인 소유 (BitmapOr 대신 정렬 순서 인덱스 스캔 + 필터)
+CREATE INDEX IF NOT EXISTS idx_templates_updated_at_id
+    ON public.templates (updated_at DESC, id DESC);
+
+-- filter=public: 공개 템플릿만 포함하는 부분 인덱스
+CREATE INDEX IF NOT EXISTS idx_templates_public_updated_at_id
+    ON public.templates (updated_at DESC, id DESC)
+    WHERE is_public = true;
+
+-- filter=mine: 소유자별 최신순
+CREATE INDEX IF NOT EXISTS idx_templates_owner_updated_at_id
+    ON public.templates (owner_id, updated_at DESC, id DESC);
+
+COMMIT;
@@ -0,0 +1,54 @@
+-- =============================================================================
+-- Migration: 005_templates_search.sql
+-- Description: 템플릿 제목/설명 전문 검색(tsvector) + 부분 일치(pg_trgm) 인덱스
+-- Created: 2026-10-17
+-- =============================================================================
+-- GET /api/templates/search?q=... 는
+--   WHERE <visibility>
+--     AND (search_vector @@ websearch_to_tsquery('simple', :q)
+--          OR :q <% title OR :q <% description)
+-- 로 후보를 찾고, ts_rank_cd + word_similarity 점수에 use_count 가중치를 곱해 정렬한다.
+-- 한국어 형태소 사전이 없으므로 tsvector는 'simple' 설정(소문자화 + 공백 분리)을 쓰고,
+-- 어절 일부만 입력한 경우는 trigram 인덱스가 보완한다.
+-- =============================================================================
+
+BEGIN;
+
+-- ---------------------------------------------------------------------------
+-- 1. EXTENSIONS
+-- ---------------------------------------------------------------------------
+
+CREATE EXTENSION IF NOT EXISTS "pg_trgm";
+
+
+-- ---------------------------------------------------------------------------
+-- 2. COLUMNS
+-- ---------------------------------------------------------------------------
+
+-- 제목(A 가중치) + 설명(B 가중치) tsvector. INSERT/UPDATE 시 자동 계산된다.
+ALTER TABLE public.templates
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+COMMENT ON COLUMN public.templates.search_vector IS
+    'Generated full-text vector over title (weight A) and description (weight B), simple config.';
+
+
+-- ---------------------------------------------------------------------------
+-- 3. INDEXES
+-- ---------------------------------------------------------------------------
+
+CREATE INDEX IF NOT EXISTS idx_templates_search_vector
+    ON public.templates USING gin (search_vector);
+
+-- word_similarity 연산자(<%)와 ILIKE '%..%' 를 인덱스로 처리
+CREATE INDEX IF NOT EXISTS idx_templates_title_trgm
+    ON public.templates USING gin (title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_templates_description_trgm
+    ON public.templates USING gin (description gin_trgm_ops);
+
+COMMIT;
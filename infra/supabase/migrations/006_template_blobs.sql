@@ -0,0 +1,116 @@
+-- =============================================================================
+-- Migration: 006_template_blobs.sql
+-- Description: 템플릿 본문 content-addressed 저장 (SHA-256 blob + 참조 카운트)
+-- Created: 2026-10-17
+-- =============================================================================
+-- 본문은 templates 버킷의 blobs/{hash 앞 2자리}/{hash}.md 에 한 번만 저장하고
+-- templates.body_hash 로 참조한다. 복제는 부모의 body_hash 를 그대로 복사하므로
+-- 본문 크기와 무관하게 행 하나만 추가되며, 본문을 처음 수정할 때 새 blob 을 가리키게 된다.
+--
+-- ref_count 는 templates 트리거가 INSERT / UPDATE OF body_hash / DELETE(CASCADE 포함) 마다
+-- 증감하므로 항상 COUNT(templates WHERE body_hash = hash) 와 같다.
+-- ref_count = 0 이 된 시각을 unreferenced_since 에 기록하고, API 서버의 GC 작업이
+-- 유예 시간이 지난 blob 행과 Storage 객체를 함께 삭제한다.
+--
+-- body_hash 가 NULL 인 기존 템플릿은 종전처럼 storage_path 의 객체를 본문으로 사용한다.
+-- =============================================================================
+
+BEGIN;
+
+-- ---------------------------------------------------------------------------
+-- 1. TABLES / COLUMNS
+-- ---------------------------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS public.template_blobs (
+    hash               text        PRIMARY KEY CHECK (hash ~ '^[0-9a-f]{64}$'),
+    size               integer     NOT NULL CHECK (size >= 0),
+    ref_count          integer     NOT NULL DEFAULT 0 CHECK (ref_count >= 0),
+    created_at         timestamptz NOT NULL DEFAULT now(),
+    unreferenced_since timestamptz DEFAULT now()
+);
+
+COMMENT ON TABLE  public.template_blobs                    IS 'Content-addressed template bodies (SHA-256 of the Markdown bytes).';
+COMMENT ON COLUMN public.template_blobs.ref_count          IS 'Number of templates whose body_hash points here. Maintained by triggers on templates.';
+COMMENT ON COLUMN public.template_blobs.unreferenced_since IS 'Set when ref_count drops to 0, cleared when it becomes positive. GC deletes after a grace period.';
+
+ALTER TABLE public.templates
+    ADD COLUMN IF NOT EXISTS body_hash text REFERENCES public.template_blobs(hash);
+
+COMMENT ON COLUMN public.templates.body_hash IS
+    'SHA-256 of the body in template_blobs. NULL means the legacy object at storage_path.';
+
+
+-- ---------------------------------------------------------------------------
+-- 2. INDEXES
+-- ---------------------------------------------------------------------------
+
+-- FK 검사 및 참조 조회
+CREATE INDEX IF NOT EXISTS idx_templates_body_hash
+    ON public.templates (body_hash)
+    WHERE body_hash IS NOT NULL;
+
+-- GC 대상 조회
+CREATE INDEX IF NOT EXISTS idx_template_blobs_unreferenced
+    ON public.template_blobs (unreferenced_since)
+    WHERE ref_count = 0;
+
+
+-- ---------------------------------------------------------------------------
+-- 3. TRIGGER: ref_count 유지
+-- ---------------------------------------------------------------------------
+
+CREATE OR REPLACE FUNCTION public.adjust_template_blob_refs()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.body_hash IS NOT NULL THEN
+        UPDATE template_blobs
+        SET ref_count          = ref_count - 1,
+            unreferenced_since = CASE WHEN ref_count - 1 = 0 THEN now() END
+        WHERE hash = OLD.body_hash;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.body_hash IS NOT NULL THEN
+        UPDATE template_blobs
+        SET ref_count          = ref_count + 1,
+            unreferenced_since = NULL
+        WHERE hash = NEW.body_hash;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+COMMENT ON FUNCTION public.adjust_template_blob_refs() IS
+    'Keeps template_blobs.ref_count equal to the number of templates referencing each blob.';
+
+CREATE OR REPLACE TRIGGER trg_templates_blob_refs_insert
+    AFTER INSERT ON public.templates
+    FOR EACH ROW
+    WHEN (NEW.body_hash IS NOT NULL)
+    EXECUTE FUNCTION public.adjust_template_blob_refs();
+
+CREATE OR REPLACE TRIGGER trg_templates_blob_refs_update
+    AFTER UPDATE OF body_hash ON public.templates
+    FOR EACH ROW
+    WHEN (OLD.body_hash IS DISTINCT FROM NEW.body_hash)
+    EXECUTE FUNCTION public.adjust_template_blob_refs();
+
+CREATE OR REPLACE TRIGGER trg_templates_blob_refs_delete
+    AFTER DELETE ON public.templates
+    FOR EACH ROW
+    WHEN (OLD.body_hash IS NOT NULL)
+    EXECUTE FUNCTION public.adjust_template_blob_refs();
+
+
+-- ---------------------------------------------------------------------------
+-- 4. ROW LEVEL SECURITY
+-- ---------------------------------------------------------------------------
+
+-- API 서버 전용 테이블: 정책을 두지 않아 클라이언트 SDK 접근은 모두 차단된다.
+ALTER TABLE public.template_blobs ENABLE ROW LEVEL SECURITY;
+
+REVOKE ALL ON public.template_blobs FROM anon, authenticated;
+
+COMMIT;
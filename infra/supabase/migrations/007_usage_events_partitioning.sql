@@ -0,0 +1,226 @@
+-- =============================================================================
+-- Migration: 007_usage_events_partitioning.sql
+-- Description: usage_events 를 used_at 기준 주간(월요일 00:00 UTC 시작) range 파티션 테이블로 전환
+-- Created: 2026-10-17
+-- =============================================================================
+-- 파티션 이름: usage_events_pYYYYMMDD (해당 주 월요일), 범위: [월요일, 다음 월요일)
+-- - 앞으로 쓸 파티션 생성과 보관 기간이 지난 파티션 분리/삭제는 API 서버의
+--   UsagePartitionManager 가 create_usage_events_partition() 으로 수행한다.
+-- - DEFAULT 파티션은 두지 않는다 (있으면 새 파티션을 만들 때마다 DEFAULT 를 스캔해야 한다).
+--   범위 밖 used_at 은 INSERT 가 실패하므로 파티션을 미리 만들어 둔다.
+-- - 파티션 키가 PK 에 포함되어야 하므로 PK 는 (id, used_at) 이 된다.
+-- - 기존 행을 새 테이블로 옮기는 동안 usage_events 에 쓰기가 막힌다 (점검 시간에 적용).
+-- =============================================================================
+
+BEGIN;
+
+-- ---------------------------------------------------------------------------
+-- 1. 기존 테이블 이름 변경 (인덱스/제약 이름을 새 테이블에 넘겨주기 위해)
+-- ---------------------------------------------------------------------------
+
+ALTER TABLE public.usage_events RENAME TO usage_events_unpartitioned;
+ALTER TABLE public.usage_events_unpartitioned
+    RENAME CONSTRAINT usage_events_pkey TO usage_events_unpartitioned_pkey;
+ALTER INDEX public.idx_usage_events_template_used_at RENAME TO idx_usage_events_unpartitioned_template_used_at;
+ALTER INDEX public.idx_usage_events_user_id          RENAME TO idx_usage_events_unpartitioned_user_id;
+ALTER INDEX public.idx_usage_events_used_at          RENAME TO idx_usage_events_unpartitioned_used_at;
+
+
+-- ---------------------------------------------------------------------------
+-- 2. PARTITIONED TABLE
+-- ---------------------------------------------------------------------------
+
+CREATE TABLE public.usage_events (
+    id          uuid        NOT NULL DEFAULT gen_random_uuid(),
+    template_id uuid        NOT NULL REFERENCES public.templates(id) ON DELETE CASCADE,
+    user_id     uuid        NOT NULL REFERENCES public.profiles(id),
+    used_at     timestamptz NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, used_at)
+) PARTITION BY RANGE (used_at);
+
+COMMENT ON TABLE  public.usage_events             IS 'Records each time an authenticated user uses a template. Weekly range partitions on used_at.';
+COMMENT ON COLUMN public.usage_events.id          IS 'Event UUID.';
+COMMENT ON COLUMN public.usage_events.template_id IS 'FK to templates.id.';
+COMMENT ON COLUMN public.usage_events.user_id     IS 'FK to profiles.id. Must be the currently authenticated user (enforced by RLS).';
+COMMENT ON COLUMN public.usage_events.used_at     IS 'Timestamp of the usage event. Partition key.';
+
+-- 파티션마다 같은 이름 규칙으로 자동 생성된다
+CREATE INDEX idx_usage_events_template_used_at
+    ON public.usage_events (template_id, used_at DESC);
+
+CREATE INDEX idx_usage_events_user_id
+    ON public.usage_events (user_id);
+
+CREATE INDEX idx_usage_events_used_at
+    ON public.usage_events (used_at);
+
+
+-- ---------------------------------------------------------------------------
+-- 3. FUNCTION: 주간 파티션 생성
+-- ---------------------------------------------------------------------------
+
+CREATE OR REPLACE FUNCTION public.create_usage_events_partition(p_week_start date)
+RETURNS text
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+DECLARE
+    partition_name text := 'usage_events_p' || to_char(p_week_start, 'YYYYMMDD');
+    range_from     timestamptz := p_week_start::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    IF extract(isodow FROM p_week_start) <> 1 THEN
+        RAISE EXCEPTION 'partition week must start on Monday: %', p_week_start;
+    END IF;
+
+    IF to_regclass('public.' || partition_name) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE public.%I PARTITION OF public.usage_events FOR VALUES FROM (%L) TO (%L)',
+            partition_name, range_from, range_from + interval '7 days');
+        -- 파티션을 직접 조회하는 경로로 RLS 를 우회하지 못하도록 부모와 같은 설정을 적용
+        EXECUTE format('ALTER TABLE public.%I ENABLE ROW LEVEL SECURITY', partition_name);
+        EXECUTE format('ALTER TABLE public.%I FORCE ROW LEVEL SECURITY', partition_name);
+        EXECUTE format('REVOKE ALL ON public.%I FROM anon, authenticated', partition_name);
+    END IF;
+    RETURN partition_name;
+END;
+$$;
+
+COMMENT ON FUNCTION public.create_usage_events_partition(date) IS
+    'Creates the weekly usage_events partition starting at the given Monday (UTC) if it does not exist.';
+
+REVOKE EXECUTE ON FUNCTION public.create_usage_events_partition(date) FROM PUBLIC, anon, authenticated;
+
+
+-- ---------------------------------------------------------------------------
+-- 4. 기존 데이터 이전
+-- ---------------------------------------------------------------------------
+
+-- 가장 오래된 이벤트의 주부터 4주 뒤까지 파티션 생성
+DO $$
+DECLARE
+    week date := date_trunc('week', coalesce(
+                     (SELECT min(used_at) FROM public.usage_events_unpartitioned), now()) AT TIME ZONE 'UTC')::date;
+    last_week date := (date_trunc('week', now() AT TIME ZONE 'UTC') + interval '4 weeks')::date;
+BEGIN
+    WHILE week <= last_week LOOP
+        PERFORM public.create_usage_events_partition(week);
+        week := week + 7;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO public.usage_events (id, template_id, user_id, used_at)
+SELECT id, template_id, user_id, used_at
+FROM public.usage_events_unpartitioned;
+
+-- 주간 랭킹 뷰는 이전 테이블을 참조하고 있으므로 함께 삭제 후 다시 만든다
+DROP TABLE public.usage_events_unpartitioned CASCADE;
+
+
+-- ---------------------------------------------------------------------------
+-- 5. ROW LEVEL SECURITY / GRANTS (001_init.sql 과 동일)
+-- ---------------------------------------------------------------------------
+
+ALTER TABLE public.usage_events ENABLE ROW LEVEL SECURITY;
+ALTER TABLE public.usage_events FORCE ROW LEVEL SECURITY;
+
+CREATE POLICY "usage_events: insert own"
+    ON public.usage_events
+    FOR INSERT
+    WITH CHECK (user_id = auth.uid());
+
+CREATE POLICY "usage_events: select own"
+    ON public.usage_events
+    FOR SELECT
+    USING (user_id = auth.uid());
+
+GRANT SELECT, INSERT
+    ON public.usage_events
+    TO authenticated;
+
+REVOKE ALL ON public.usage_events FROM anon;
+
+
+-- ---------------------------------------------------------------------------
+-- 6. VIEWS (001_init.sql 정의 그대로 재생성)
+-- ---------------------------------------------------------------------------
+
+CREATE OR REPLACE VIEW public.weekly_template_ranking
+WITH (security_invoker = true)
+AS
+SELECT
+    t.id                                                    AS template_id,
+    t.title,
+    t.description,
+    t.owner_id,
+    p.display_name                                          AS owner_display_name,
+    t.is_public,
+    date_trunc('week', ue.used_at)                          AS week_start,
+    COUNT(ue.id)                                            AS weekly_use_count,
+    RANK() OVER (
+        PARTITION BY date_trunc('week', ue.used_at)
+        ORDER BY COUNT(ue.id) DESC
+    )                                                       AS rank
+FROM public.usage_events ue
+JOIN public.templates     t ON t.id = ue.template_id
+JOIN public.profiles      p ON p.id = t.owner_id
+WHERE
+    -- now() 는 실행 시점에 고정되므로 이번 주 파티션만 읽는다 (runtime pruning)
+    ue.used_at >= date_trunc('week', now())
+GROUP BY
+    t.id,
+    t.title,
+    t.description,
+    t.owner_id,
+    p.display_name,
+    t.is_public,
+    date_trunc('week', ue.used_at)
+ORDER BY
+    week_start DESC,
+    weekly_use_count DESC;
+
+COMMENT ON VIEW public.weekly_template_ranking IS
+    'Weekly template usage ranking aggregated from usage_events. '
+    'Uses security_invoker so RLS policies of the calling user are applied. '
+    'Partition: ISO week (Monday start). Filter: current week only.';
+
+CREATE OR REPLACE VIEW public.weekly_template_ranking_all
+WITH (security_invoker = true)
+AS
+SELECT
+    t.id                                                    AS template_id,
+    t.title,
+    t.description,
+    t.owner_id,
+    p.display_name                                          AS owner_display_name,
+    date_trunc('week', ue.used_at)                          AS week_start,
+    COUNT(ue.id)                                            AS weekly_use_count,
+    RANK() OVER (
+        PARTITION BY date_trunc('week', ue.used_at)
+        ORDER BY COUNT(ue.id) DESC
+    )                                                       AS rank
+FROM public.usage_events ue
+JOIN public.templates     t ON t.id = ue.template_id
+JOIN public.profiles      p ON p.id = t.owner_id
+WHERE
+    t.is_public = true
+GROUP BY
+    t.id,
+    t.title,
+    t.description,
+    t.owner_id,
+    p.display_name,
+    date_trunc('week', ue.used_at)
+ORDER BY
+    week_start DESC,
+    weekly_use_count DESC;
+
+COMMENT ON VIEW public.weekly_template_ranking_all IS
+    'Historical weekly ranking for public templates only. '
+    'All past weeks are included. Intended for leaderboard / analytics pages.';
+
+GRANT SELECT ON public.weekly_template_ranking     TO authenticated;
+GRANT SELECT ON public.weekly_template_ranking_all TO authenticated;
+
+COMMIT;
@@ -0,0 +1,59 @@
+-- =============================================================================
+-- Migration: 008_profile_change_notify.sql
+-- Description: profiles 의 공개 필드(display_name, avatar_url) 변경을 LISTEN/NOTIFY 로 알림
+-- Created: 2026-10-17
+-- =============================================================================
+-- API 서버는 템플릿/랭킹 조회에서 profiles 를 JOIN 하지 않고 메모리의 owner 프로필
+-- projection(OwnerProfileProjection)으로 display_name, avatar_url 을 채운다.
+-- 프로필이 생성/변경/삭제되면 트리거가 profile_changes 채널로 프로필 id 를 보내고,
+-- 서버의 OwnerProfileChangeListener 가 해당 항목을 projection 에서 제거한다.
+--
+-- NOTIFY 는 트랜잭션 커밋 시점에 전달되므로 롤백된 변경은 알림이 가지 않는다.
+-- LISTEN 은 세션 단위이므로 listener 는 transaction pooling(pgbouncer) 이 아닌
+-- 직접 연결(또는 session pooling)을 써야 한다.
+-- =============================================================================
+
+BEGIN;
+
+-- ---------------------------------------------------------------------------
+-- 1. FUNCTION: profile_changes 알림
+-- ---------------------------------------------------------------------------
+
+CREATE OR REPLACE FUNCTION public.notify_profile_change()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+BEGIN
+    -- 같은 트랜잭션 안의 같은 payload 는 한 번만 전달된다
+    PERFORM pg_notify('profile_changes',
+                      CASE WHEN TG_OP = 'DELETE' THEN OLD.id ELSE NEW.id END::text);
+    RETURN NULL;
+END;
+$$;
+
+COMMENT ON FUNCTION public.notify_profile_change() IS
+    'Sends the changed profile id on the profile_changes channel so API servers can drop cached owner profiles.';
+
+REVOKE EXECUTE ON FUNCTION public.notify_profile_change() FROM PUBLIC, anon, authenticated;
+
+
+-- ---------------------------------------------------------------------------
+-- 2. TRIGGER
+-- ---------------------------------------------------------------------------
+
+CREATE OR REPLACE TRIGGER trg_profiles_notify_insert_delete
+    AFTER INSERT OR DELETE ON public.profiles
+    FOR EACH ROW
+    EXECUTE FUNCTION public.notify_profile_change();
+
+-- email 등 projection 에 없는 컬럼만 바뀐 경우는 알리지 않는다
+CREATE OR REPLACE TRIGGER trg_profiles_notify_update
+    AFTER UPDATE OF display_name, avatar_url ON public.profiles
+    FOR EACH ROW
+    WHEN (OLD.display_name IS DISTINCT FROM NEW.display_name
+          OR OLD.avatar_url IS DISTINCT FROM NEW.avatar_url)
+    EXECUTE FUNCTION public.notify_profile_change();
+
+COMMIT;
@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.2.3"
     id("io.spring.dependency-management") version "1.1.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.prompthub"
@@ -9,7 +10,7 @@ version = "0.0.1-SNAPSHOT"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(21)
     }
 }
 
@@ -23,18 +24,32 @@ repositories {
     mavenCentral()
 }
 
+// Jackson 2.16+ 의 RecyclerPool (가상 스레드에서도 재사용되는 전역 버퍼 pool, JacksonConfig)
+extra["jackson-bom.version"] = "2.17.2"
+
 dependencies {
     // Spring Boot
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    // @Timed (TimedAspect)
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+
+    // Prometheus 형식 메트릭 (management 포트의 /actuator/prometheus)
+    implementation("io.micrometer:micrometer-registry-prometheus")
 
     // MyBatis
     implementation("org.mybatis.spring.boot:mybatis-spring-boot-starter:3.0.3")
 
-    // PostgreSQL
-    runtimeOnly("org.postgresql:postgresql")
+    // Jackson Blackbird (reflection 대신 LambdaMetafactory 접근자)
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird")
+
+    // Caffeine (in-process cache)
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
+    // PostgreSQL (usage_events binary COPY에 CopyManager API를 직접 사용)
+    implementation("org.postgresql:postgresql")
 
     // JJWT (Supabase JWT 검증)
     implementation("io.jsonwebtoken:jjwt-api:0.11.5")
@@ -49,8 +64,25 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
     testImplementation("org.mybatis.spring.boot:mybatis-spring-boot-starter-test:3.0.3")
+
+    // JMH (src/jmh/java) - TemplateService 벤치마크용 embedded PostgreSQL
+    jmh("io.zonky.test:embedded-postgres:2.0.7")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// ./gradlew jmh -Pjmh.includes=TemplateResponseBenchmark
+// 결과는 build/reports/jmh/results.json 에 JSON으로 저장된다 (릴리스 간 회귀 비교용)
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    findProperty("jmh.includes")?.let { includes = listOf(it.toString()) }
+    // -Pjmh.profilers=gc : 호출당 할당 바이트(gc.alloc.rate.norm) 측정
+    findProperty("jmh.profilers")?.let { profilers = listOf(it.toString()) }
+}
@@ -0,0 +1,94 @@
+// =============================================================================
+// k6 burst load test: platform-thread vs virtual-thread request execution
+// =============================================================================
+// 같은 부하를 두 실행 모드에 각각 걸어 처리량(http_reqs/s)과 p99 지연을 비교한다.
+// 토큰 하나(같은 사용자, 같은 IP)로 POST /api/usage를 초당 수백 건 보내므로
+// 쓰기 API 요청 수 제한(rate-limit.*)을 반드시 끄고 실행한다. 켜 두면 대부분 429가 되어
+// http_req_failed threshold를 넘고 처리량 비교가 의미 없어진다.
+//
+//   # 1) platform-thread 모드 (기본)
+//   RATE_LIMIT_ENABLED=false VIRTUAL_THREADS_ENABLED=false ./gradlew bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e TEMPLATE_ID=<uuid> \
+//          -e MODE=platform loadtest/burst.js
+//
+//   # 2) virtual-thread 모드 (Semaphore 커넥션 대기열 자동 활성화)
+//   RATE_LIMIT_ENABLED=false VIRTUAL_THREADS_ENABLED=true ./gradlew bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e TEMPLATE_ID=<uuid> \
+//          -e MODE=virtual loadtest/burst.js
+//
+// 결과는 콘솔 요약과 함께 loadtest-<MODE>.json 으로 저장된다.
+// 두 파일의 metrics.http_reqs.rate / metrics.http_req_duration["p(99)"] 를 비교한다.
+// =============================================================================
+
+import http from "k6/http";
+import { check } from "k6";
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const TOKEN = __ENV.TOKEN;
+const TEMPLATE_ID = __ENV.TEMPLATE_ID;
+const MODE = __ENV.MODE || "unknown";
+
+export const options = {
+  scenarios: {
+    burst: {
+      executor: "ramping-arrival-rate",
+      startRate: 50,
+      timeUnit: "1s",
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+      stages: [
+        { target: 50, duration: "30s" },   // warm-up
+        { target: 1000, duration: "10s" }, // burst
+        { target: 1000, duration: "60s" }, // sustain
+        { target: 50, duration: "10s" },   // recover
+      ],
+    },
+  },
+  summaryTrendStats: ["avg", "p(50)", "p(95)", "p(99)", "max"],
+  thresholds: {
+    http_req_failed: ["rate<0.01"],
+  },
+};
+
+const params = {
+  headers: {
+    Authorization: `Bearer ${TOKEN}`,
+    "Content-Type": "application/json",
+  },
+};
+
+export default function () {
+  // 실제 트래픽 비율을 흉내: 목록 60%, 사용 기록 30%, 랭킹 10%
+  const r = Math.random();
+  let res;
+  if (r < 0.6) {
+    res = http.get(`${BASE_URL}/api/templates?filter=public&limit=20`, params);
+  } else if (r < 0.9) {
+    res = http.post(
+      `${BASE_URL}/api/usage`,
+      JSON.stringify({ template_id: TEMPLATE_ID }),
+      params
+    );
+  } else {
+    res = http.get(`${BASE_URL}/api/rankings/weekly?limit=10`, params);
+  }
+  check(res, { "status is 2xx/304": (x) => (x.status >= 200 && x.status < 300) || x.status === 304 });
+}
+
+export function handleSummary(data) {
+  return {
+    stdout: JSON.stringify(
+      {
+        mode: MODE,
+        throughput_rps: data.metrics.http_reqs.values.rate,
+        p50_ms: data.metrics.http_req_duration.values["p(50)"],
+        p95_ms: data.metrics.http_req_duration.values["p(95)"],
+        p99_ms: data.metrics.http_req_duration.values["p(99)"],
+        failed_rate: data.metrics.http_req_failed.values.rate,
+      },
+      null,
+      2
+    ) + "\n",
+    [`loadtest-${MODE}.json`]: JSON.stringify(data, null, 2),
+  };
+}
@@ -0,0 +1,87 @@
+// =============================================================================
+// k6 load test: response compression (identity vs gzip) on shared payloads
+// =============================================================================
+// 공개 템플릿 목록과 주간 랭킹을 같은 부하로 요청해 전송량(data_received)과 지연을 비교한다.
+//
+//   # 1) 현재 설정과 같은 기준선 (압축 없음)
+//   COMPRESSION_ENABLED=false ./gradlew bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e ENCODING=identity loadtest/compression.js
+//
+//   # 2) gzip (미리 압축한 공유 응답 + Tomcat 응답 압축)
+//   COMPRESSION_ENABLED=true ./gradlew bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<jwt> -e ENCODING=gzip loadtest/compression.js
+//
+// k6는 TLS 없는 HTTP/2(h2c)를 지원하지 않으므로 HTTP/2 비교는 h2load로 한다.
+//   h2load -n 20000 -c 50 -m 10 -H "Authorization: Bearer <jwt>" -H "Accept-Encoding: gzip" \
+//          http://localhost:8080/api/templates?filter=public
+//   h2load -n 20000 -c 50 -m 10 --h1 -H "Authorization: Bearer <jwt>" -H "Accept-Encoding: gzip" \
+//          http://localhost:8080/api/templates?filter=public
+//
+// 결과는 콘솔 요약과 함께 loadtest-compression-<ENCODING>.json 으로 저장된다.
+// 두 파일의 metrics.data_received.rate / bytes_per_request / http_req_duration["p(99)"] 를 비교한다.
+// =============================================================================
+
+import http from "k6/http";
+import { check } from "k6";
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const TOKEN = __ENV.TOKEN;
+const ENCODING = __ENV.ENCODING || "gzip";
+
+export const options = {
+  scenarios: {
+    steady: {
+      executor: "constant-arrival-rate",
+      rate: 500,
+      timeUnit: "1s",
+      duration: "60s",
+      preAllocatedVUs: 100,
+      maxVUs: 1000,
+    },
+  },
+  summaryTrendStats: ["avg", "p(50)", "p(95)", "p(99)", "max"],
+  thresholds: {
+    http_req_failed: ["rate<0.01"],
+  },
+};
+
+const params = {
+  headers: {
+    Authorization: `Bearer ${TOKEN}`,
+    // k6 기본값(gzip, deflate) 대신 비교할 인코딩만 요청한다
+    "Accept-Encoding": ENCODING,
+  },
+};
+
+export default function () {
+  // 목록 70%, 랭킹 30%
+  const res = Math.random() < 0.7
+    ? http.get(`${BASE_URL}/api/templates?filter=public`, params)
+    : http.get(`${BASE_URL}/api/rankings/weekly?limit=100`, params);
+  check(res, {
+    "status is 200": (x) => x.status === 200,
+    "encoding matches": (x) =>
+      ENCODING === "identity" ? !x.headers["Content-Encoding"] : x.headers["Content-Encoding"] === ENCODING,
+  });
+}
+
+export function handleSummary(data) {
+  const requests = data.metrics.http_reqs.values.count;
+  return {
+    stdout: JSON.stringify(
+      {
+        encoding: ENCODING,
+        throughput_rps: data.metrics.http_reqs.values.rate,
+        received_bytes_per_s: data.metrics.data_received.values.rate,
+        bytes_per_request: requests > 0 ? data.metrics.data_received.values.count / requests : 0,
+        p50_ms: data.metrics.http_req_duration.values["p(50)"],
+        p95_ms: data.metrics.http_req_duration.values["p(95)"],
+        p99_ms: data.metrics.http_req_duration.values["p(99)"],
+        failed_rate: data.metrics.http_req_failed.values.rate,
+      },
+      null,
+      2
+    ) + "\n",
+    [`loadtest-compression-${ENCODING}.json`]: JSON.stringify(data, null, 2),
+  };
+}
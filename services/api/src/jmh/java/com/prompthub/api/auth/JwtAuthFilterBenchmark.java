@@ -0,0 +1,61 @@
+package com.prompthub.api.auth;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthFilter 토큰 검증 경로 벤치마크.
+ * - verifyUncached: 캐시 없이 매번 서명 검증 + claims 파싱 (최초 요청 비용)
+ * - verifyCached: 같은 토큰의 반복 요청 (SHA-256 digest + 캐시 조회)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtAuthFilter cachedFilter;
+    private JwtAuthFilter uncachedFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedFilter = new JwtAuthFilter(SECRET, 10_000, 3600, new SimpleMeterRegistry());
+        // maximumSize 0: 캐시에 넣는 즉시 제거되어 항상 서명 검증 경로를 탄다
+        uncachedFilter = new JwtAuthFilter(SECRET, 0, 3600, new SimpleMeterRegistry());
+        token = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .claim("email", "bench@prompthub.dev")
+                .claim("role", "authenticated")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        cachedFilter.authenticate(token);
+    }
+
+    @Benchmark
+    public UserPrincipal verifyUncached() {
+        return uncachedFilter.authenticate(token);
+    }
+
+    @Benchmark
+    public UserPrincipal verifyCached() {
+        return cachedFilter.authenticate(token);
+    }
+}
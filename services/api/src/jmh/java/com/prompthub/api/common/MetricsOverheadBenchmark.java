@@ -0,0 +1,122 @@
+package com.prompthub.api.common;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StaticSqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계측 오버헤드 벤치마크 (호출당 추가 비용).
+ * - mapperQuery: stub Executor에 MapperMetricsInterceptor 플러그인을 씌운 query 호출 (SQL 실행 없음)
+ * - timedService: @Timed 클래스를 TimedAspect proxy로 감싼 메서드 호출
+ * registry=none 은 계측 없이 같은 stub/대상을 직접 호출한 기준값이다.
+ * prometheus 는 application.yml과 같이 p50/p95/p99 percentile을 켠 상태로 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+
+    @Param({"none", "simple", "prometheus"})
+    public String registry;
+
+    private Executor executor;
+    private MappedStatement statement;
+    private TimedTarget target;
+
+    @Setup
+    public void setUp() {
+        Configuration configuration = new Configuration();
+        statement = new MappedStatement.Builder(configuration, "bench.TemplateMapper.findById",
+                new StaticSqlSource(configuration, "SELECT 1"), SqlCommandType.SELECT).build();
+        Executor stub = stubExecutor();
+
+        if ("none".equals(registry)) {
+            executor = stub;
+            target = new TimedTarget();
+            return;
+        }
+        MeterRegistry meterRegistry = "prometheus".equals(registry)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+            }
+        });
+
+        // 느린 문장 기록은 threshold 이상일 때만 동작하므로 기본 설정 그대로 둔다 (요청 스레드가 아니므로 반복 검사 없음)
+        QueryInspector queryInspector = new QueryInspector(meterRegistry, true, 200, 50, true, 10);
+        executor = (Executor) new MapperMetricsInterceptor(meterRegistry, queryInspector).plugin(stub);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TimedTarget());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(meterRegistry));
+        target = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public List<Object> mapperQuery() throws SQLException {
+        return executor.query(statement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    }
+
+    @Benchmark
+    public long timedService() {
+        return target.lookup(42L);
+    }
+
+    /**
+     * TemplateService/UsageService와 같이 클래스에 @Timed를 붙인 대상.
+     */
+    @Timed("service.method")
+    public static class TimedTarget {
+
+        public long lookup(long id) {
+            return id * 31;
+        }
+    }
+
+    /**
+     * query는 빈 목록, update는 1을 돌려주는 Executor stub.
+     */
+    private static Executor stubExecutor() {
+        List<Object> empty = List.of();
+        return (Executor) Proxy.newProxyInstance(
+                MetricsOverheadBenchmark.class.getClassLoader(),
+                new Class<?>[]{Executor.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "query" -> empty;
+                    case "update" -> 1;
+                    default -> null;
+                });
+    }
+}
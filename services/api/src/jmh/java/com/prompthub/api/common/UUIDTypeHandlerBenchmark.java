@@ -0,0 +1,67 @@
+package com.prompthub.api.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UUIDTypeHandler 결과 디코딩 벤치마크.
+ * - driverUuid: pgjdbc가 uuid 컬럼을 java.util.UUID로 돌려주는 경우 (현재 경로: toString 후 재파싱)
+ * - textUuid: ::text 등으로 문자열이 넘어오는 경우
+ * - baseline: 같은 ResultSet stub에서 getObject만 호출한 비용 (stub 오버헤드 차감용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UUIDTypeHandlerBenchmark {
+
+    private final UUIDTypeHandler handler = new UUIDTypeHandler();
+    private ResultSet uuidResultSet;
+    private ResultSet textResultSet;
+
+    @Setup
+    public void setUp() {
+        UUID value = UUID.randomUUID();
+        uuidResultSet = singleValueResultSet(value);
+        textResultSet = singleValueResultSet(value.toString());
+    }
+
+    @Benchmark
+    public UUID driverUuid() throws SQLException {
+        return handler.getResult(uuidResultSet, "id");
+    }
+
+    @Benchmark
+    public UUID textUuid() throws SQLException {
+        return handler.getResult(textResultSet, "id");
+    }
+
+    @Benchmark
+    public Object baseline() throws SQLException {
+        return uuidResultSet.getObject("id");
+    }
+
+    /**
+     * getObject / wasNull만 응답하는 ResultSet stub.
+     */
+    private static ResultSet singleValueResultSet(Object value) {
+        return (ResultSet) Proxy.newProxyInstance(
+                UUIDTypeHandlerBenchmark.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getObject" -> value;
+                    case "wasNull" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,73 @@
+package com.prompthub.api.ranking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prompthub.api.common.UUIDStringCache;
+import com.prompthub.api.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주간 랭킹 Top 100 직렬화 벤치마크 (WeeklyRankingCache 스냅샷 payload 생성 비용).
+ * serializer: reflective(Jackson 기본) / handwritten(JacksonConfig와 같은 운영 설정)
+ * 할당량은 -Pjmh.profilers=gc 로 실행해 gc.alloc.rate.norm(B/op)을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankingSerializationBenchmark {
+
+    @Param({"reflective", "handwritten"})
+    public String serializer;
+
+    private ObjectMapper objectMapper;
+    private List<RankingDto> ranking;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("handwritten".equals(serializer)) {
+            JacksonConfig config = new JacksonConfig();
+            builder.modulesToInstall(config.blackbirdModule(),
+                    config.responseSerializersModule(new UUIDStringCache(10_000)));
+            config.sharedRecyclerPoolCustomizer().customize(builder);
+        }
+        objectMapper = builder.build();
+
+        // 상위 랭킹은 소수의 작성자에게 몰리므로 owner_id가 반복된다
+        List<UUID> owners = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            owners.add(UUID.randomUUID());
+        }
+        ranking = new ArrayList<>(WeeklyRankingCache.MAX_LIMIT);
+        for (int i = 0; i < WeeklyRankingCache.MAX_LIMIT; i++) {
+            RankingDto dto = new RankingDto();
+            dto.setRank(i + 1);
+            dto.setTemplateId(UUID.randomUUID());
+            dto.setTitle("Template " + i);
+            dto.setDescription("Benchmark ranking entry #" + i);
+            dto.setOwnerId(owners.get(i % owners.size()));
+            dto.setOwnerDisplayName("owner-" + (i % owners.size()));
+            dto.setOwnerAvatarUrl("https://cdn.prompthub.dev/avatars/" + (i % owners.size()) + ".png");
+            dto.setUseCountWeekly(10_000 - i * 37);
+            ranking.add(dto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ranking);
+    }
+}
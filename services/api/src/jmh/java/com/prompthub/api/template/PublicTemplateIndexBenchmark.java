@@ -0,0 +1,71 @@
+package com.prompthub.api.template;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PublicTemplateIndex 자동완성 질의 벤치마크 (DB 없이 색인에 직접 적재).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublicTemplateIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "prompt", "template", "review", "code", "summary", "translate", "email", "blog",
+            "marketing", "sql", "python", "java", "refactor", "test", "interview", "resume",
+            "코드", "리뷰", "요약", "번역", "이메일", "블로그", "마케팅", "면접"
+    };
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"pro", "code rev", "요약 블"})
+    public String query;
+
+    private PublicTemplateIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new PublicTemplateIndex(null, null, true, 12, 0.1, new SimpleMeterRegistry());
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            Template template = new Template();
+            template.setId(UUID.randomUUID());
+            template.setTitle(words(random, 3) + " " + i);
+            template.setDescription(words(random, 12));
+            template.setPublic(true);
+            template.setUseCount(random.nextInt(1000));
+            // 트랜잭션 밖이므로 즉시 반영된다
+            index.upsertAfterCommit(template);
+        }
+    }
+
+    @Benchmark
+    public List<PublicTemplateIndex.Hit> search() {
+        return index.search(query, 10);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.prompthub.api.template;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prompthub.api.common.UUIDStringCache;
+import com.prompthub.api.config.JacksonConfig;
+import com.prompthub.api.profile.OwnerProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 템플릿 목록 응답 생성 벤치마크.
+ * - map: Template -> TemplateDto.Response 변환만 (소유자 프로필은 projection에서 조회된 값이라고 가정)
+ * - mapAndSerialize: 변환 + Jackson 직렬화 (GET /api/templates 응답 본문 생성 비용)
+ * serializer: reflective(Jackson 기본) / blackbird / handwritten(JacksonConfig와 같은 운영 설정)
+ * 응답당 할당량은 -Pjmh.profilers=gc 로 실행해 gc.alloc.rate.norm(B/op)을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TemplateResponseBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"reflective", "blackbird", "handwritten"})
+    public String serializer;
+
+    private List<Template> templates;
+    private List<OwnerProfile> owners;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = objectMapper(serializer);
+        owners = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            owners.add(new OwnerProfile(UUID.randomUUID(), "owner-" + i,
+                    "https://cdn.prompthub.dev/avatars/" + i + ".png"));
+        }
+        templates = new ArrayList<>(size);
+        OffsetDateTime base = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < size; i++) {
+            Template template = new Template();
+            UUID id = UUID.randomUUID();
+            UUID ownerId = owners.get(i % owners.size()).id();
+            template.setId(id);
+            template.setOwnerId(ownerId);
+            template.setTitle("Template " + i);
+            template.setDescription("Benchmark template description #" + i + " used for list serialization.");
+            template.setPublic(i % 3 == 0);
+            template.setStoragePath(ownerId + "/" + id + ".md");
+            template.setUseCount(i * 7);
+            template.setCreatedAt(base.plusMinutes(i));
+            template.setUpdatedAt(base.plusMinutes(i).plusSeconds(30));
+            templates.add(template);
+        }
+    }
+
+    @Benchmark
+    public List<TemplateDto.Response> map() {
+        return mapAll();
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapAll());
+    }
+
+    /**
+     * Spring Boot 기본 설정과 같은 ObjectMapper (JavaTimeModule, ISO-8601 날짜)에 비교 대상 모듈을 더한다.
+     */
+    private static ObjectMapper objectMapper(String serializer) {
+        JacksonConfig config = new JacksonConfig();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (serializer) {
+            case "reflective" -> {
+            }
+            case "blackbird" -> builder.modulesToInstall(config.blackbirdModule());
+            case "handwritten" -> {
+                builder.modulesToInstall(config.blackbirdModule(),
+                        config.responseSerializersModule(new UUIDStringCache(10_000)));
+                config.sharedRecyclerPoolCustomizer().customize(builder);
+            }
+            default -> throw new IllegalArgumentException("Unknown serializer: " + serializer);
+        }
+        return builder.build();
+    }
+
+    private List<TemplateDto.Response> mapAll() {
+        List<TemplateDto.Response> responses = new ArrayList<>(templates.size());
+        for (int i = 0; i < templates.size(); i++) {
+            responses.add(TemplateDto.Response.from(templates.get(i), 0L, owners.get(i % owners.size())));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,182 @@
+package com.prompthub.api.template;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prompthub.api.common.UUIDArrayTypeHandler;
+import com.prompthub.api.common.UUIDTypeHandler;
+import com.prompthub.api.profile.OwnerProfileProjection;
+import com.prompthub.api.profile.ProfileMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TemplateService.getTemplates 벤치마크 (SQL 실행 + 결과 매핑 + 소유자 프로필 채우기 + DTO 변환).
+ * Docker 없이 embedded PostgreSQL 바이너리를 띄우고, 운영과 같은 TemplateMapper.xml로 MyBatis를 구성한다.
+ * 데이터: 프로필 100명, 템플릿 templateCount개 (3개 중 1개 공개).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TemplateServiceBenchmark {
+
+    private static final int OWNER_COUNT = 100;
+
+    @Param({"1000", "10000"})
+    public int templateCount;
+
+    @Param({"mine", "public", "all"})
+    public String filter;
+
+    /**
+     * warm: 소유자 프로필이 모두 projection에 있는 상태 (운영 정상 상태)
+     * cold: 매 호출 전에 projection을 비워 소유자 프로필 일괄 조회 비용까지 포함
+     */
+    @Param({"warm", "cold"})
+    public String ownerProfiles;
+
+    private EmbeddedPostgres postgres;
+    private OwnerProfileProjection ownerProfileProjection;
+    private TemplateService templateService;
+    private UUID currentUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        initSchema(dataSource);
+        currentUserId = seed(dataSource);
+
+        SqlSessionManager sqlSessionManager = SqlSessionManager.newInstance(sqlSessionFactory(dataSource));
+        TemplateMapper templateMapper = sqlSessionManager.getMapper(TemplateMapper.class);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TemplateCache templateCache = new TemplateCache(templateMapper, 10_000, 60, meterRegistry);
+        PublicTemplateIndex publicTemplateIndex =
+                new PublicTemplateIndex(templateMapper, null, false, 12, 0.1, meterRegistry);
+        ownerProfileProjection = new OwnerProfileProjection(
+                sqlSessionManager.getMapper(ProfileMapper.class), meterRegistry, 100_000, 600);
+        // 공개 목록 캐시(쓰기 경로)와 본문 저장소(TemplateContentService)는 getTemplates 경로에서 사용하지 않는다
+        templateService = new TemplateService(templateMapper, templateCache, publicTemplateIndex, null, null,
+                new UseCountAccumulator(templateMapper, templateCache), ownerProfileProjection,
+                objectMapper, 1000, 0.1);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetOwnerProfiles() {
+        if ("cold".equals(ownerProfiles)) {
+            ownerProfileProjection.invalidateAll();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<TemplateDto.Response> getTemplates() {
+        return templateService.getTemplates(currentUserId, filter);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * application.yml의 mybatis 설정과 같은 구성 (camelCase 매핑, fetch size, UUID 타입 핸들러).
+     */
+    private static SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws IOException {
+        Configuration configuration = new Configuration(
+                new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setDefaultFetchSize(100);
+        configuration.setDefaultStatementTimeout(30);
+        configuration.getTypeHandlerRegistry().register(UUIDTypeHandler.class);
+        configuration.getTypeHandlerRegistry().register(UUIDArrayTypeHandler.class);
+
+        for (String resource : List.of("mapper/TemplateMapper.xml", "mapper/ProfileMapper.xml")) {
+            try (InputStream in = Resources.getResourceAsStream(resource)) {
+                new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+            }
+        }
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private static void initSchema(DataSource dataSource) throws IOException, SQLException {
+        String ddl;
+        try (InputStream in = Resources.getResourceAsStream("benchmark-schema.sql")) {
+            ddl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(ddl);
+        }
+    }
+
+    /**
+     * 프로필과 템플릿을 채우고 첫 번째 프로필 ID(현재 사용자)를 반환한다.
+     */
+    private UUID seed(DataSource dataSource) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement("""
+                    INSERT INTO profiles (id, email, display_name, avatar_url)
+                    SELECT md5('owner-' || g)::uuid, 'owner' || g || '@prompthub.dev', 'owner-' || g,
+                           'https://cdn.prompthub.dev/avatars/' || g || '.png'
+                    FROM generate_series(1, ?) AS g
+                    """)) {
+                ps.setInt(1, OWNER_COUNT);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement("""
+                    INSERT INTO templates (owner_id, title, description, is_public, storage_path, use_count,
+                                           created_at, updated_at)
+                    SELECT md5('owner-' || (g % ? + 1))::uuid, 'Template ' || g,
+                           'Benchmark template description #' || g, g % 3 = 0,
+                           'bench/' || g || '.md', g % 500,
+                           now() - g * interval '1 minute', now() - g * interval '1 minute'
+                    FROM generate_series(1, ?) AS g
+                    """)) {
+                ps.setInt(1, OWNER_COUNT);
+                ps.setInt(2, templateCount);
+                ps.executeUpdate();
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+                try (ResultSet rs = stmt.executeQuery("SELECT md5('owner-1')::uuid")) {
+                    rs.next();
+                    return rs.getObject(1, UUID.class);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.prompthub.api.usage;
+
+import com.prompthub.api.common.UUIDTypeHandler;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * usage_events 기록 처리량 벤치마크 (결과 단위: rows/s).
+ * - single:   요청마다 실행되는 UsageMapper.insert (행마다 한 문장 + 커밋)
+ * - multirow: UsageMapper.insertBatch (copy.enabled=false 대체 경로)
+ * - copy:     UsageCopyWriter binary COPY
+ * embedded PostgreSQL에 운영과 같은 UsageMapper.xml을 올려 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UsageInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"single", "multirow", "copy"})
+    public String writer;
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+    private UsageMapper usageMapper;
+    private UsageCopyWriter usageCopyWriter;
+    private List<UsageEvent> events;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        initSchema(dataSource);
+
+        usageMapper = SqlSessionManager.newInstance(sqlSessionFactory(dataSource)).getMapper(UsageMapper.class);
+        usageCopyWriter = new UsageCopyWriter(dataSource, usageMapper, "copy".equals(writer), 65536, 8);
+        usageCopyWriter.probe();
+        if ("copy".equals(writer) && !usageCopyWriter.isCopyAvailable()) {
+            throw new IllegalStateException("Binary COPY is not available on the benchmark database");
+        }
+
+        UUID ownerId = UUID.randomUUID();
+        UUID templateId = UUID.randomUUID();
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO profiles (id, email) VALUES ('" + ownerId + "', 'bench@prompthub.dev')");
+            stmt.execute("INSERT INTO templates (id, owner_id, title, storage_path) VALUES ('"
+                    + templateId + "', '" + ownerId + "', 'Benchmark', 'bench/usage.md')");
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        events = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            UsageEvent event = new UsageEvent();
+            event.setTemplateId(templateId);
+            event.setUserId(ownerId);
+            event.setUsedAt(now.minusSeconds(i));
+            events.add(event);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("TRUNCATE usage_events");
+        }
+    }
+
+    /**
+     * 같은 이벤트를 다시 기록하므로 PK만 매번 새로 발급한다.
+     */
+    @Setup(Level.Invocation)
+    public void assignIds() {
+        for (UsageEvent event : events) {
+            event.setId(UUID.randomUUID());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int write() {
+        if ("single".equals(writer)) {
+            for (UsageEvent event : events) {
+                usageMapper.insert(event);
+            }
+            return events.size();
+        }
+        return usageCopyWriter.write(events);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws IOException {
+        Configuration configuration = new Configuration(
+                new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setDefaultStatementTimeout(30);
+        configuration.getTypeHandlerRegistry().register(UUIDTypeHandler.class);
+
+        String resource = "mapper/UsageMapper.xml";
+        try (InputStream in = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private static void initSchema(DataSource dataSource) throws IOException, SQLException {
+        String ddl;
+        try (InputStream in = Resources.getResourceAsStream("benchmark-schema.sql")) {
+            ddl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(ddl);
+        }
+    }
+}
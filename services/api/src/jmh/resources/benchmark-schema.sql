@@ -0,0 +1,47 @@
+-- =============================================================================
+-- JMH TemplateServiceBenchmark / UsageInsertBenchmark 용 최소 스키마
+-- infra/supabase/migrations 의 profiles/templates/usage_events 정의와 인덱스만 옮긴 것
+-- (auth.users FK, RLS, Storage 등 Supabase 전용 객체는 제외)
+-- =============================================================================
+
+CREATE TABLE profiles (
+    id           uuid        PRIMARY KEY,
+    email        text        NOT NULL,
+    display_name text,
+    avatar_url   text,
+    created_at   timestamptz NOT NULL DEFAULT now()
+);
+
+CREATE TABLE templates (
+    id           uuid        PRIMARY KEY DEFAULT gen_random_uuid(),
+    owner_id     uuid        NOT NULL REFERENCES profiles(id) ON DELETE CASCADE,
+    title        text        NOT NULL,
+    description  text,
+    is_public    boolean     NOT NULL DEFAULT false,
+    storage_path text        NOT NULL,
+    body_hash    text,
+    use_count    integer     NOT NULL DEFAULT 0 CHECK (use_count >= 0),
+    created_at   timestamptz NOT NULL DEFAULT now(),
+    updated_at   timestamptz NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_templates_owner_id ON templates (owner_id);
+CREATE INDEX idx_templates_is_public ON templates (is_public) WHERE is_public = true;
+CREATE INDEX idx_templates_updated_at_id ON templates (updated_at DESC, id DESC);
+CREATE INDEX idx_templates_public_updated_at_id ON templates (updated_at DESC, id DESC) WHERE is_public = true;
+CREATE INDEX idx_templates_owner_updated_at_id ON templates (owner_id, updated_at DESC, id DESC);
+
+-- 운영은 주간 파티션(007 마이그레이션), 벤치마크는 파티션 하나로 모든 범위를 받는다
+CREATE TABLE usage_events (
+    id          uuid        NOT NULL DEFAULT gen_random_uuid(),
+    template_id uuid        NOT NULL REFERENCES templates(id) ON DELETE CASCADE,
+    user_id     uuid        NOT NULL REFERENCES profiles(id),
+    used_at     timestamptz NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, used_at)
+) PARTITION BY RANGE (used_at);
+
+CREATE TABLE usage_events_default PARTITION OF usage_events DEFAULT;
+
+CREATE INDEX idx_usage_events_template_used_at ON usage_events (template_id, used_at DESC);
+CREATE INDEX idx_usage_events_user_id ON usage_events (user_id);
+CREATE INDEX idx_usage_events_used_at ON usage_events (used_at);
@@ -1,11 +1,18 @@
 package com.prompthub.api.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,13 +29,21 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Authorization: Bearer <jwt> 헤더를 파싱하여 Supabase JWT를 검증하고
  * SecurityContext에 UserPrincipal을 저장하는 필터.
+ * 검증에 성공한 토큰은 SHA-256 digest를 키로 exp 시각까지 캐시하여,
+ * 같은 토큰의 반복 요청은 서명 검증 없이 해시 조회로 처리한다.
+ * 캐시에 없어 서명을 검증한 경우만 jwt.verify 타이머에 기록한다.
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
@@ -38,16 +53,63 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     // V-06: Use ObjectMapper to properly escape error messages in JSON responses
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
-    private final String jwtSecret;
+    /**
+     * 검증된 토큰의 principal과 만료 시각.
+     */
+    private record VerifiedToken(UserPrincipal principal, long expiresAtMillis) {
+    }
 
-    public JwtAuthFilter(@Value("${supabase.jwt.secret}") String jwtSecret) {
-        this.jwtSecret = jwtSecret;
+    // 서명 키와 parser는 한 번만 만든다 (JwtParser는 불변/thread-safe)
+    private final JwtParser jwtParser;
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+    private final long maxTtlMillis;
+    private final Timer verifyTimer;
+
+    public JwtAuthFilter(@Value("${supabase.jwt.secret}") String jwtSecret,
+                         @Value("${supabase.jwt.cache.maximum-size:10000}") long cacheMaximumSize,
+                         @Value("${supabase.jwt.cache.max-ttl-seconds:3600}") long cacheMaxTtlSeconds,
+                         MeterRegistry meterRegistry) {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.maxTtlMillis = TimeUnit.SECONDS.toMillis(cacheMaxTtlSeconds);
+        // 크기 초과 시 W-TinyLFU 정책으로 제거, 각 엔트리는 토큰 exp 시각에 만료
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+                        long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken value,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken value,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT signature verification and claims parsing on cache misses")
+                .register(meterRegistry);
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
-        return path.equals("/actuator/health");
+        // 인증 없이 여는 경로 (SecurityConfig permitAll과 같다)
+        // actuator health/prometheus는 management 포트, /healthz는 main 포트에 연결한 배포 health check 그룹
+        // /actuator/slowqueries는 문장과 요청 경로를 노출하므로 토큰 검증을 거친다
+        return path.equals("/actuator/health") || path.equals("/actuator/prometheus") || path.equals("/healthz");
     }
 
     @Override
@@ -62,18 +124,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         try {
-            Claims claims = parseToken(token);
-
-            String sub = claims.getSubject();
-            if (sub == null) {
+            UserPrincipal principal = authenticate(token);
+            if (principal == null) {
                 writeUnauthorized(response, "JWT subject (sub) is missing");
                 return;
             }
 
-            UUID userId = UUID.fromString(sub);
-            String email = claims.get("email", String.class);
-
-            UserPrincipal principal = new UserPrincipal(userId, email);
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
 
@@ -92,12 +148,48 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * 토큰을 검증하고 UserPrincipal을 반환한다. 캐시에 유효한 검증 결과가 있으면 재검증하지 않는다.
+     *
+     * @return sub claim이 없으면 null
+     * @throws JwtException             서명 불일치, 만료 등 검증 실패
+     * @throws IllegalArgumentException sub가 UUID 형식이 아닌 경우
+     */
+    UserPrincipal authenticate(String token) {
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.principal();
+        }
+
+        Claims claims = verifyTimer.record(() -> parseToken(token));
+        String sub = claims.getSubject();
+        if (sub == null) {
+            return null;
+        }
+
+        UUID userId = UUID.fromString(sub);
+        String email = claims.get("email", String.class);
+        UserPrincipal principal = new UserPrincipal(userId, email);
+
+        long now = System.currentTimeMillis();
+        Date expiration = claims.getExpiration();
+        long expiresAt = Math.min(expiration != null ? expiration.getTime() : Long.MAX_VALUE, now + maxTtlMillis);
+        verifiedTokens.put(key, new VerifiedToken(principal, expiresAt));
+        return principal;
+    }
+
     private Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     private String resolveToken(HttpServletRequest request) {
@@ -0,0 +1,138 @@
+package com.prompthub.api.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 동시에 빌려줄 수 있는 커넥션 수를 Semaphore로 제한하는 DataSource 래퍼.
+ * 가상 스레드 모드에서는 요청 수만큼 스레드가 생기므로, 커넥션 풀 앞에서 공정(FIFO) 대기열로
+ * 대기자를 줄 세우고 acquire-timeout을 넘기면 빠르게 실패시킨다.
+ * permit은 반환된 Connection의 close() 시점에 한 번만 돌려준다.
+ * MeterBinder로 등록되면 대기 시간(datasource.concurrency.wait), 시간 초과 거절 수, 대기열 길이를 기록한다.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    // bindTo 전(기동 중)에는 기록하지 않는다
+    private volatile Timer waitTimer;
+    private volatile Counter rejected;
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, long acquireTimeoutMs) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 현재 대기 중인 스레드 수 (관측용).
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datasource.concurrency.queue", this, ConcurrencyLimitedDataSource::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .register(registry);
+        this.rejected = Counter.builder("datasource.concurrency.rejected")
+                .description("Connection requests rejected after waiting acquire-timeout for a permit")
+                .register(registry);
+        this.waitTimer = Timer.builder("datasource.concurrency.wait")
+                .description("Time spent waiting for a database connection permit")
+                .register(registry);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void acquire() throws SQLException {
+        boolean acquired;
+        long start = System.nanoTime();
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            Counter counter = rejected;
+            if (counter != null) {
+                counter.increment();
+            }
+            throw new SQLTransientConnectionException(
+                    "Database concurrency limit reached, request timed out after " + acquireTimeoutMs + "ms");
+        }
+    }
+
+    private Connection limited(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    return invoke(target, method, args);
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+            }
+            return invoke(target, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(
+                ConcurrencyLimitedDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Connection target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
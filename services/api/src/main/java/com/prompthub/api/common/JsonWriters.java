@@ -0,0 +1,131 @@
+package com.prompthub.api.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * 손으로 작성한 JsonSerializer에서 쓰는 값 출력 도우미.
+ * UUID와 OffsetDateTime을 호출 측의 scratch 버퍼(SCRATCH_LENGTH 이상)에 직접 문자로 쓴 뒤
+ * JsonGenerator에 넘기므로 값마다 String/DateTimeFormatter 중간 객체를 만들지 않는다.
+ * 출력 형식은 Jackson 기본 직렬화(UUID.toString, ISO_OFFSET_DATE_TIME)와 같다.
+ */
+public final class JsonWriters {
+
+    /**
+     * scratch 버퍼 최소 길이 (yyyy-MM-ddTHH:mm:ss.nnnnnnnnn+HH:MM:SS = 38).
+     */
+    public static final int SCRATCH_LENGTH = 40;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonWriters() {
+    }
+
+    public static void writeString(JsonGenerator generator, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    public static void writeUuid(JsonGenerator generator, UUID value, char[] scratch) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+        hex(scratch, 0, msb >>> 32, 8);
+        scratch[8] = '-';
+        hex(scratch, 9, msb >>> 16, 4);
+        scratch[13] = '-';
+        hex(scratch, 14, msb, 4);
+        scratch[18] = '-';
+        hex(scratch, 19, lsb >>> 48, 4);
+        scratch[23] = '-';
+        hex(scratch, 24, lsb, 12);
+        generator.writeString(scratch, 0, 36);
+    }
+
+    /**
+     * DateTimeFormatter.ISO_OFFSET_DATE_TIME과 같은 형식 (초는 항상, 소수점 이하는 0을 뺀 자리까지, UTC는 Z).
+     */
+    public static void writeDateTime(JsonGenerator generator, OffsetDateTime value, char[] scratch)
+            throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // 부호/확장 연도는 드물므로 formatter에 맡긴다
+            generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+            return;
+        }
+        int pos = digits(scratch, 0, year, 4);
+        scratch[pos++] = '-';
+        pos = digits(scratch, pos, value.getMonthValue(), 2);
+        scratch[pos++] = '-';
+        pos = digits(scratch, pos, value.getDayOfMonth(), 2);
+        scratch[pos++] = 'T';
+        pos = digits(scratch, pos, value.getHour(), 2);
+        scratch[pos++] = ':';
+        pos = digits(scratch, pos, value.getMinute(), 2);
+        scratch[pos++] = ':';
+        pos = digits(scratch, pos, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            scratch[pos++] = '.';
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            pos = digits(scratch, pos, nano, width);
+        }
+
+        int offsetSeconds = value.getOffset().getTotalSeconds();
+        if (offsetSeconds == 0) {
+            scratch[pos++] = 'Z';
+        } else {
+            int absolute = Math.abs(offsetSeconds);
+            scratch[pos++] = offsetSeconds < 0 ? '-' : '+';
+            pos = digits(scratch, pos, absolute / 3600, 2);
+            scratch[pos++] = ':';
+            pos = digits(scratch, pos, absolute / 60 % 60, 2);
+            if (absolute % 60 != 0) {
+                scratch[pos++] = ':';
+                pos = digits(scratch, pos, absolute % 60, 2);
+            }
+        }
+        generator.writeString(scratch, 0, pos);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static void hex(char[] buffer, int offset, long value, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * 0으로 채운 width자리 10진수를 쓰고 다음 위치를 반환한다.
+     */
+    private static int digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+}
@@ -0,0 +1,218 @@
+package com.prompthub.api.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis mapped statement 실행 시간을 mybatis.statement 타이머로 기록하는 Executor 플러그인.
+ * - 태그: statement(매퍼 메서드 ID), command(SELECT/INSERT/UPDATE/DELETE), outcome(success/error).
+ *   statement ID는 매퍼 XML에 정의된 수만큼이므로 태그 cardinality가 고정이다.
+ * - 처리한 행 수(조회 결과 수, 변경 행 수)는 mybatis.statement.rows 분포로 기록한다.
+ * - 타이머는 statement별로 한 번만 만들고 재사용한다 (호출마다 Meter 조회/태그 생성을 하지 않는다).
+ * - 성공한 문장은 QueryInspector에 넘겨 느린 문장/요청 내 반복 문장을 검사한다.
+ * 시간에는 SQL 실행과 결과 매핑이 포함된다 (트랜잭션 밖의 문장은 커넥션 획득 시간도 포함될 수 있다).
+ * - queryCursor(스트리밍 목록)는 반환한 Cursor를 감싸 close될 때 기록한다. 시간은 cursor 열기와
+ *   행을 가져오는 hasNext/next 호출 안에서 쓴 시간의 합이며, 호출 측이 행 사이에 응답을 쓰는 시간은 빠진다.
+ *   행 수는 읽은 행 수, 읽는 도중 예외가 나면 outcome=error로 기록한다.
+ * mybatis-spring-boot-starter가 Interceptor 빈을 SqlSessionFactory에 자동으로 등록한다.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryInspector queryInspector;
+    private final ConcurrentMap<String, StatementTimers> timers = new ConcurrentHashMap<>();
+
+    public MapperMetricsInterceptor(MeterRegistry meterRegistry, QueryInspector queryInspector) {
+        this.meterRegistry = meterRegistry;
+        this.queryInspector = queryInspector;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        StatementTimers statementTimers = timersOf(statement);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            statementTimers.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if (result instanceof Cursor<?> cursor) {
+            return new TimedCursor<>(cursor, statement, args[1], statementTimers, elapsedNanos);
+        }
+        record(statement, args[1], args.length == 6 ? (BoundSql) args[5] : null, statementTimers,
+                elapsedNanos, rowCount(result));
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void record(MappedStatement statement, Object parameter, BoundSql boundSql,
+                        StatementTimers statementTimers, long elapsedNanos, int rows) {
+        statementTimers.success().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        statementTimers.rows().record(rows);
+        queryInspector.inspect(statement, parameter,
+                () -> boundSql != null ? boundSql : statement.getBoundSql(parameter),
+                elapsedNanos, rows);
+    }
+
+    private StatementTimers timersOf(MappedStatement statement) {
+        StatementTimers existing = timers.get(statement.getId());
+        if (existing != null) {
+            return existing;
+        }
+        return timers.computeIfAbsent(statement.getId(), id -> new StatementTimers(
+                timer(id, statement, "success"), timer(id, statement, "error"),
+                DistributionSummary.builder("mybatis.statement.rows")
+                        .tag("statement", id)
+                        .tag("command", statement.getSqlCommandType().name())
+                        .description("Rows returned or affected per MyBatis mapped statement")
+                        .register(meterRegistry)));
+    }
+
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        return result instanceof Integer affected ? affected : 0;
+    }
+
+    private Timer timer(String id, MappedStatement statement, String outcome) {
+        return Timer.builder("mybatis.statement")
+                .tag("statement", id)
+                .tag("command", statement.getSqlCommandType().name())
+                .tag("outcome", outcome)
+                .description("MyBatis mapped statement execution time")
+                .register(meterRegistry);
+    }
+
+    private record StatementTimers(Timer success, Timer error, DistributionSummary rows) {
+    }
+
+    /**
+     * queryCursor 결과 래퍼. 행을 가져오는 데 쓴 시간과 행 수를 모았다가 close 시 한 번 기록한다.
+     */
+    private final class TimedCursor<T> implements Cursor<T> {
+
+        private final Cursor<T> delegate;
+        private final MappedStatement statement;
+        private final Object parameter;
+        private final StatementTimers statementTimers;
+        private long elapsedNanos;
+        private int rows;
+        private boolean failed;
+        private boolean recorded;
+
+        TimedCursor(Cursor<T> delegate, MappedStatement statement, Object parameter,
+                    StatementTimers statementTimers, long openNanos) {
+            this.delegate = delegate;
+            this.statement = statement;
+            this.parameter = parameter;
+            this.statementTimers = statementTimers;
+            this.elapsedNanos = openNanos;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return delegate.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return delegate.getCurrentIndex();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<T> iterator = delegate.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    long start = System.nanoTime();
+                    try {
+                        return iterator.hasNext();
+                    } catch (RuntimeException e) {
+                        failed = true;
+                        throw e;
+                    } finally {
+                        elapsedNanos += System.nanoTime() - start;
+                    }
+                }
+
+                @Override
+                public T next() {
+                    long start = System.nanoTime();
+                    try {
+                        T row = iterator.next();
+                        rows++;
+                        return row;
+                    } catch (RuntimeException e) {
+                        failed = true;
+                        throw e;
+                    } finally {
+                        elapsedNanos += System.nanoTime() - start;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                if (!recorded) {
+                    recorded = true;
+                    if (failed) {
+                        statementTimers.error().record(elapsedNanos, TimeUnit.NANOSECONDS);
+                    } else {
+                        record(statement, parameter, null, statementTimers, elapsedNanos, rows);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.prompthub.api.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 공유 응답 본문(공개 템플릿 목록, 주간 랭킹)을 한 번만 압축해 두기 위한 도우미.
+ * 스냅샷을 만들 때 한 번 압축하므로 요청마다 압축하는 Tomcat(server.compression)보다 높은 압축 수준을 쓴다.
+ */
+@Component
+public class PayloadCompressor {
+
+    private final boolean enabled;
+    private final int minBytes;
+    private final int gzipLevel;
+
+    public PayloadCompressor(@Value("${compression.precompressed.enabled:true}") boolean enabled,
+                             @Value("${compression.precompressed.min-bytes:2048}") int minBytes,
+                             @Value("${compression.precompressed.gzip-level:9}") int gzipLevel) {
+        if (gzipLevel < Deflater.BEST_SPEED || gzipLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("compression.precompressed.gzip-level must be between 1 and 9");
+        }
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.gzipLevel = gzipLevel;
+    }
+
+    /**
+     * 본문과 ETag, (min-bytes 이상이면) gzip 본문과 그 ETag를 만든다.
+     */
+    public PrecompressedPayload compress(byte[] body) {
+        String digest = DigestUtils.md5DigestAsHex(body);
+        byte[] gzipBody = enabled && body.length >= minBytes ? gzip(body) : null;
+        return new PrecompressedPayload(body, "\"" + digest + "\"", gzipBody, "\"" + digest + "-gzip\"");
+    }
+
+    /**
+     * Accept-Encoding이 gzip(또는 *)을 q > 0으로 허용하는지.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].strip().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].strip();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (q > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(gzipLevel);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
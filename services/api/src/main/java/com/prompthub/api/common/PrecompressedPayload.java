@@ -0,0 +1,32 @@
+package com.prompthub.api.common;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 여러 호출자가 공유하는 JSON 응답 본문과 미리 gzip으로 압축한 본문 (PayloadCompressor가 만든다).
+ * gzipBody는 본문이 압축 최소 크기보다 작으면 null이다.
+ * 인코딩마다 표현이 다르므로 ETag도 따로 둔다 (strong validator).
+ */
+public record PrecompressedPayload(byte[] body, String etag, byte[] gzipBody, String gzipEtag) {
+
+    /**
+     * Accept-Encoding에 맞는 본문으로 200 응답을 만든다. If-None-Match가 ETag와 같으면
+     * ResponseEntity 처리 단계에서 304로 바뀐다. Content-Encoding이 이미 있으므로 Tomcat이 다시 압축하지 않는다.
+     */
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding, CacheControl cacheControl) {
+        boolean gzip = gzipBody != null && PayloadCompressor.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.eTag(gzipEtag)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(gzipBody);
+        }
+        return builder.eTag(etag).body(body);
+    }
+}
@@ -0,0 +1,249 @@
+package com.prompthub.api.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * MyBatis 문장 진단 (MapperMetricsInterceptor가 문장 실행마다 호출한다).
+ * <p>
+ * 1) 느린 문장: slow-threshold-ms 이상 걸린 문장을 bound parameter와 함께 고정 크기 ring buffer에 남긴다.
+ *    가장 오래된 항목부터 덮어쓰므로 메모리는 slow-capacity개로 고정이며, 기록은 lock 없이 한다.
+ *    actuator slowqueries 엔드포인트가 남아 있는 항목을 느린 순으로 보여준다.
+ * <p>
+ * 2) 반복 문장: HTTP 요청 하나 안에서 같은 SELECT가 같은 파라미터로 다시 실행되거나(identical),
+ *    같은 SELECT가 n-plus-one-threshold번 이상 실행되면(n_plus_one) 요청당 한 번 경고 로그를 남기고
+ *    mybatis.statement.repeated 카운터를 올린다. 요청 스레드가 아닌 곳(비동기 writer, 스케줄 작업)은 검사하지 않는다.
+ * <p>
+ * org.mybatis DEBUG 로그(모든 문장/파라미터 출력) 없이 운영 중에 느린 문장과 반복 조회를 찾기 위한 것이다.
+ */
+@Component
+public class QueryInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryInspector.class);
+    private static final String REQUEST_STATS_ATTRIBUTE = QueryInspector.class.getName() + ".stats";
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    /**
+     * 느린 문장 기록. parameters는 include-parameters=false이면 비어 있다.
+     */
+    public record SlowQuery(String statement, String command, double durationMs, int rows, Integer fetchSize,
+                            List<String> parameters, String request, OffsetDateTime executedAt) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final boolean includeParameters;
+    private final int nPlusOneThreshold;
+    private final AtomicReferenceArray<SlowQuery> slowQueries;
+    private final AtomicLong slowCursor = new AtomicLong();
+
+    public QueryInspector(MeterRegistry meterRegistry,
+                          @Value("${query-inspector.enabled:true}") boolean enabled,
+                          @Value("${query-inspector.slow-threshold-ms:200}") long slowThresholdMs,
+                          @Value("${query-inspector.slow-capacity:50}") int slowCapacity,
+                          @Value("${query-inspector.include-parameters:false}") boolean includeParameters,
+                          @Value("${query-inspector.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        if (slowCapacity < 1) {
+            throw new IllegalArgumentException("query-inspector.slow-capacity must be at least 1");
+        }
+        if (nPlusOneThreshold < 2) {
+            throw new IllegalArgumentException("query-inspector.n-plus-one-threshold must be at least 2");
+        }
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.includeParameters = includeParameters;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.slowQueries = new AtomicReferenceArray<>(slowCapacity);
+    }
+
+    /**
+     * 실행을 마친 문장 하나를 검사한다.
+     *
+     * @param boundSql 호출 측에 이미 있으면 넘기고, 필요할 때만 만든다
+     */
+    public void inspect(MappedStatement statement, Object parameter, Supplier<BoundSql> boundSql,
+                        long elapsedNanos, int rows) {
+        if (!enabled) {
+            return;
+        }
+        BoundSql sql = null;
+        RequestStats stats = requestStats();
+        if (stats != null && statement.getSqlCommandType() == SqlCommandType.SELECT) {
+            sql = boundSql.get();
+            checkRepeated(stats, statement, boundValues(statement.getConfiguration(), sql, parameter));
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            if (sql == null) {
+                sql = boundSql.get();
+            }
+            recordSlow(statement, parameter, sql, elapsedNanos, rows);
+        }
+    }
+
+    /**
+     * ring buffer에 남아 있는 느린 문장 (느린 순).
+     */
+    public List<SlowQuery> slowQueries() {
+        List<SlowQuery> result = new ArrayList<>(slowQueries.length());
+        for (int i = 0; i < slowQueries.length(); i++) {
+            SlowQuery entry = slowQueries.get(i);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparingDouble(SlowQuery::durationMs).reversed());
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void recordSlow(MappedStatement statement, Object parameter, BoundSql sql, long elapsedNanos, int rows) {
+        List<String> parameters = List.of();
+        if (includeParameters) {
+            parameters = boundValues(statement.getConfiguration(), sql, parameter).stream()
+                    .map(QueryInspector::render)
+                    .toList();
+        }
+        HttpServletRequest request = currentRequest();
+        SlowQuery entry = new SlowQuery(
+                statement.getId(),
+                statement.getSqlCommandType().name(),
+                elapsedNanos / 1_000_000.0,
+                rows,
+                statement.getFetchSize() != null
+                        ? statement.getFetchSize()
+                        : statement.getConfiguration().getDefaultFetchSize(),
+                parameters,
+                request != null ? request.getMethod() + " " + request.getRequestURI() : null,
+                OffsetDateTime.now(ZoneOffset.UTC));
+        int slot = (int) Math.floorMod(slowCursor.getAndIncrement(), (long) slowQueries.length());
+        slowQueries.set(slot, entry);
+    }
+
+    private void checkRepeated(RequestStats stats, MappedStatement statement, List<Object> values) {
+        String id = statement.getId();
+        int identical = stats.identical.merge(new StatementKey(id, values), 1, Integer::sum);
+        if (identical == 2 && stats.flagged.add("identical:" + id)) {
+            flag(id, "identical", "Statement {} executed again with the same parameters in {}");
+        }
+        int executions = stats.executions.merge(id, 1, Integer::sum);
+        if (executions == nPlusOneThreshold && stats.flagged.add("n_plus_one:" + id)) {
+            flag(id, "n_plus_one", "Statement {} executed " + executions + " times in {} (possible N+1)");
+        }
+    }
+
+    private void flag(String statement, String kind, String message) {
+        HttpServletRequest request = currentRequest();
+        log.warn(message, statement, request != null ? request.getMethod() + " " + request.getRequestURI() : "-");
+        Counter.builder("mybatis.statement.repeated")
+                .tag("statement", statement)
+                .tag("kind", kind)
+                .description("Requests that repeated the same SELECT (identical parameters or N+1 pattern)")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 현재 HTTP 요청의 문장 실행 통계. 요청 스레드가 아니면 null.
+     */
+    private static RequestStats requestStats() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        RequestStats stats = (RequestStats) attributes.getAttribute(REQUEST_STATS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (stats == null) {
+            stats = new RequestStats();
+            attributes.setAttribute(REQUEST_STATS_ATTRIBUTE, stats, RequestAttributes.SCOPE_REQUEST);
+        }
+        return stats;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+
+    /**
+     * DefaultParameterHandler와 같은 규칙으로 bound parameter 값을 꺼낸다.
+     * 배열은 값 비교가 되도록 List로 바꾼다.
+     */
+    private static List<Object> boundValues(Configuration configuration, BoundSql sql, Object parameter) {
+        List<ParameterMapping> mappings = sql.getParameterMappings();
+        if (mappings.isEmpty()) {
+            return List.of();
+        }
+        List<Object> values = new ArrayList<>(mappings.size());
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (sql.hasAdditionalParameter(property)) {
+                value = sql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+            values.add(value instanceof Object[] array ? Arrays.asList(array) : value);
+        }
+        return values;
+    }
+
+    private static String render(Object value) {
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+
+    private record StatementKey(String statement, List<Object> values) {
+    }
+
+    private static final class RequestStats {
+        private final Map<StatementKey, Integer> identical = new HashMap<>();
+        private final Map<String, Integer> executions = new HashMap<>();
+        private final Set<String> flagged = new HashSet<>();
+    }
+}
@@ -0,0 +1,19 @@
+package com.prompthub.api.common;
+
+/**
+ * 서버가 일시적으로 요청을 처리할 수 없을 때 발생하는 예외 (503).
+ * 클라이언트는 Retry-After 이후 재시도할 수 있다.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,28 @@
+package com.prompthub.api.common;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * GET /actuator/slowqueries (management 포트, 인증 필요).
+ * QueryInspector ring buffer에 남아 있는 느린 MyBatis 문장을 느린 순으로 반환한다.
+ * bind 파라미터는 query-inspector.include-parameters=true일 때만 포함된다.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final QueryInspector queryInspector;
+
+    public SlowQueryEndpoint(QueryInspector queryInspector) {
+        this.queryInspector = queryInspector;
+    }
+
+    @ReadOperation
+    public List<QueryInspector.SlowQuery> slowQueries() {
+        return queryInspector.slowQueries();
+    }
+}
@@ -0,0 +1,146 @@
+package com.prompthub.api.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 최근 window 동안 넣은 키만 기억하는 시간 버킷 Bloom filter.
+ * - window를 (bucketCount - 1)개 구간으로 나누고 구간마다 Bloom filter 하나를 쓴다.
+ *   put은 현재 구간에만, mightContain은 살아 있는 모든 구간을 확인하므로
+ *   window 이상 (최대 window + 한 구간) 이전에 넣은 키까지 "있을 수 있음"으로 답한다.
+ * - 가장 오래된 구간은 비우고 재사용하므로 메모리는 키 수와 무관하게 고정이다
+ *   (구간당 expectedInsertions, falsePositiveRate 기준 비트 수 x bucketCount).
+ * - false positive가 있으므로 true는 "중복일 수 있음"이며 호출 측에서 정확히 확인해야 한다. false negative는 없다.
+ * - 키는 호출 측이 만든 64비트 해시 두 개(h1, h2)로 받는다 (double hashing: h1 + i * h2).
+ */
+public final class TimeBucketedBloomFilter {
+
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final int hashCount;
+    private final long bitMask;
+    private final AtomicLongArray[] buckets;
+    private final long[] bucketEpochs;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile long currentEpoch = Long.MIN_VALUE;
+
+    public TimeBucketedBloomFilter(long windowMillis, int bucketCount, long expectedInsertions,
+                                   double falsePositiveRate) {
+        if (windowMillis <= 0 || bucketCount < 2 || expectedInsertions <= 0
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter configuration");
+        }
+        // m = -n ln p / (ln 2)^2, 2의 거듭제곱으로 올림 (인덱스를 mask로 계산)
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long bits = Long.highestOneBit(Math.max(64, optimalBits - 1)) << 1;
+        if (bits / 64 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter is too large");
+        }
+        this.bucketCount = bucketCount;
+        this.bucketMillis = Math.max(1, (windowMillis + bucketCount - 2) / (bucketCount - 1));
+        this.hashCount = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        this.bitMask = bits - 1;
+        this.buckets = new AtomicLongArray[bucketCount];
+        this.bucketEpochs = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new AtomicLongArray((int) (bits / 64));
+            bucketEpochs[i] = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * 최근 window 안에 같은 키를 넣었을 수 있으면 true.
+     */
+    public boolean mightContain(long h1, long h2, long nowMillis) {
+        long epoch = advance(nowMillis);
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < bucketCount; i++) {
+                if (bucketEpochs[i] > epoch - bucketCount && contains(buckets[i], h1, h2)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 구간에 키를 넣는다.
+     */
+    public void put(long h1, long h2, long nowMillis) {
+        long epoch = advance(nowMillis);
+        lock.readLock().lock();
+        try {
+            AtomicLongArray bucket = buckets[slotOf(epoch)];
+            for (int i = 0; i < hashCount; i++) {
+                long bit = (h1 + i * h2) & bitMask;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = bucket.get(word);
+                while ((current & mask) == 0) {
+                    long witness = bucket.compareAndExchange(word, current, current | mask);
+                    if (witness == current) {
+                        break;
+                    }
+                    current = witness;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 비트 배열 크기 (bytes).
+     */
+    public long memoryBytes() {
+        return (long) bucketCount * (bitMask + 1) / 8;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private boolean contains(AtomicLongArray bucket, long h1, long h2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((bucket.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 현재 구간 번호를 now 기준으로 맞추고, 새 구간이 쓸 bucket을 비운다.
+     */
+    private long advance(long nowMillis) {
+        long epoch = Math.floorDiv(nowMillis, bucketMillis);
+        if (epoch <= currentEpoch) {
+            return currentEpoch;
+        }
+        lock.writeLock().lock();
+        try {
+            if (epoch > currentEpoch) {
+                int slot = slotOf(epoch);
+                AtomicLongArray bucket = buckets[slot];
+                for (int i = 0; i < bucket.length(); i++) {
+                    bucket.set(i, 0L);
+                }
+                bucketEpochs[slot] = epoch;
+                currentEpoch = epoch;
+            }
+            return currentEpoch;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int slotOf(long epoch) {
+        return (int) Math.floorMod(epoch, (long) bucketCount);
+    }
+}
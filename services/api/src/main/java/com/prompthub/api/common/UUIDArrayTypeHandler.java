@@ -0,0 +1,59 @@
+package com.prompthub.api.common;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.*;
+import java.util.UUID;
+
+/**
+ * UUID[] <-> PostgreSQL uuid[] 변환.
+ * WHERE id = ANY(#{ids}) 형태로 ID 개수와 무관하게 bind 파라미터 하나로 전달한다.
+ */
+@MappedTypes(UUID[].class)
+@MappedJdbcTypes(value = JdbcType.ARRAY, includeNullJdbcType = true)
+public class UUIDArrayTypeHandler extends BaseTypeHandler<UUID[]> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, UUID[] parameter, JdbcType jdbcType) throws SQLException {
+        Array array = ps.getConnection().createArrayOf("uuid", parameter);
+        try {
+            ps.setArray(i, array);
+        } finally {
+            array.free();
+        }
+    }
+
+    @Override
+    public UUID[] getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toUUIDs(rs.getArray(columnName));
+    }
+
+    @Override
+    public UUID[] getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toUUIDs(rs.getArray(columnIndex));
+    }
+
+    @Override
+    public UUID[] getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toUUIDs(cs.getArray(columnIndex));
+    }
+
+    private static UUID[] toUUIDs(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        try {
+            Object[] values = (Object[]) array.getArray();
+            UUID[] result = new UUID[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = values[i] != null ? UUID.fromString(values[i].toString()) : null;
+            }
+            return result;
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.prompthub.api.common;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 응답에 반복해서 나오는 UUID(owner_id 등)의 JSON 인코딩 결과 캐시.
+ * SerializedString은 따옴표 안 UTF-8 바이트를 처음 쓸 때 한 번 만들어 두므로,
+ * 이후에는 UUID.toString()과 인코딩 없이 바이트 복사만 한다.
+ * 템플릿 id처럼 응답마다 다른 값은 캐시하지 않는다 (JsonWriters.writeUuid).
+ */
+@Component
+public class UUIDStringCache {
+
+    private final Cache<UUID, SerializableString> cache;
+
+    public UUIDStringCache(@Value("${json.uuid-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public SerializableString get(UUID id) {
+        return cache.get(id, key -> new SerializedString(key.toString()));
+    }
+}
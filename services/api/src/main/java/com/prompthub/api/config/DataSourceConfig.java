@@ -0,0 +1,36 @@
+package com.prompthub.api.config;
+
+import com.prompthub.api.common.ConcurrencyLimitedDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource 동시성 제한 설정.
+ * datasource.concurrency-limit.enabled=true (기본값: 가상 스레드 모드 여부)이면
+ * 자동 구성된 DataSource를 ConcurrencyLimitedDataSource로 감싼다.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.concurrency-limit.enabled", havingValue = "true")
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        int permits = environment.getProperty("datasource.concurrency-limit.permits", Integer.class, 10);
+        long acquireTimeoutMs = environment.getProperty(
+                "datasource.concurrency-limit.acquire-timeout-ms", Long.class, 20000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, permits, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.prompthub.api.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.prompthub.api.common.UUIDStringCache;
+import com.prompthub.api.ranking.RankingDto;
+import com.prompthub.api.ranking.RankingDtoSerializer;
+import com.prompthub.api.template.TemplateDto;
+import com.prompthub.api.template.TemplateResponseSerializer;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson ObjectMapper 설정 (Spring Boot가 Module 빈을 자동으로 등록한다).
+ * - 목록/랭킹 응답의 대부분을 차지하는 TemplateDto.Response, RankingDto는 손으로 작성한 serializer로 쓴다.
+ * - 그 밖의 DTO는 Blackbird가 reflection 대신 LambdaMetafactory로 만든 접근자로 직렬화한다.
+ * - generator/parser 내부 버퍼(BufferRecycler)를 스레드가 아닌 전역 pool에서 빌려 쓴다.
+ *   기본 pool은 ThreadLocal이라 요청마다 새 스레드인 가상 스레드 모드에서는 재사용되지 않는다.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module responseSerializersModule(UUIDStringCache uuidStringCache) {
+        return new SimpleModule("prompthub-responses")
+                .addSerializer(TemplateDto.Response.class, new TemplateResponseSerializer(uuidStringCache))
+                .addSerializer(RankingDto.class, new RankingDtoSerializer(uuidStringCache));
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sharedRecyclerPoolCustomizer() {
+        return builder -> builder.factory(JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                .build());
+    }
+}
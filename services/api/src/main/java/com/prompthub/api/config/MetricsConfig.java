@@ -0,0 +1,22 @@
+package com.prompthub.api.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer 설정.
+ * - @Timed가 붙은 서비스 클래스의 public 메서드를 service.method 타이머로 측정한다 (class, method 태그).
+ *   같은 클래스 안의 내부 호출은 proxy를 거치지 않으므로 측정되지 않는다.
+ * - MyBatis mapped statement 타이머는 MapperMetricsInterceptor가 기록한다.
+ * percentile은 application.yml의 management.metrics.distribution.percentiles에서 메트릭 이름별로 지정한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.prompthub.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 기반 백그라운드 작업 활성화.
+ * (use_count flush 등 주기 작업)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
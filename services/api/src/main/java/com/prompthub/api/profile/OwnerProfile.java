@@ -0,0 +1,14 @@
+package com.prompthub.api.profile;
+
+import java.util.UUID;
+
+/**
+ * 템플릿/랭킹 응답에 포함하는 소유자 공개 프로필 (profiles.display_name, avatar_url).
+ * OwnerProfileProjection이 ID별로 보관한다. 프로필 행이 없으면 두 필드 모두 null이다 (LEFT JOIN과 같은 응답).
+ */
+public record OwnerProfile(UUID id, String displayName, String avatarUrl) {
+
+    static OwnerProfile missing(UUID id) {
+        return new OwnerProfile(id, null, null);
+    }
+}
@@ -0,0 +1,174 @@
+package com.prompthub.api.profile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * profiles 변경 알림(008 마이그레이션 트리거, 채널 profile_changes)을 받아 OwnerProfileProjection에서 제거한다.
+ * - LISTEN은 세션에 묶이므로 커넥션 풀을 쓰지 않고 전용 커넥션 하나를 연다 (풀 크기, 동시성 제한에 포함되지 않음).
+ *   transaction pooling(pgbouncer)으로는 알림을 받을 수 없으므로 listen.url에 직접 연결 주소를 지정한다.
+ * - 연결이 끊긴 동안의 변경은 알 수 없으므로 (재)연결할 때마다 projection 전체를 비운다.
+ * - 알림이 없는 동안 validation-interval마다 커넥션이 살아 있는지 확인한다.
+ */
+@Component
+public class OwnerProfileChangeListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerProfileChangeListener.class);
+    private static final String CHANNEL = "profile_changes";
+
+    private final OwnerProfileProjection ownerProfileProjection;
+
+    private final boolean enabled;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollTimeoutMs;
+    private final long validationIntervalMs;
+    private final long reconnectDelayMs;
+    private final Counter notifications;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread worker;
+
+    public OwnerProfileChangeListener(OwnerProfileProjection ownerProfileProjection,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${profile.projection.listen.enabled:true}") boolean enabled,
+                                      @Value("${profile.projection.listen.url:${spring.datasource.url:}}") String url,
+                                      @Value("${spring.datasource.username:}") String username,
+                                      @Value("${spring.datasource.password:}") String password,
+                                      @Value("${profile.projection.listen.poll-timeout-ms:1000}") int pollTimeoutMs,
+                                      @Value("${profile.projection.listen.validation-interval-ms:30000}") long validationIntervalMs,
+                                      @Value("${profile.projection.listen.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.ownerProfileProjection = ownerProfileProjection;
+        this.enabled = enabled && !url.isBlank();
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.validationIntervalMs = validationIntervalMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.notifications = Counter.builder("profile.projection.notifications")
+                .description("profile_changes notifications applied to the owner profile projection")
+                .register(meterRegistry);
+        Gauge.builder("profile.projection.listening", this, l -> l.listening ? 1 : 0)
+                .description("1 while the LISTEN profile_changes connection is established")
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // SmartLifecycle
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, "profile-change-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(pollTimeoutMs * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // -------------------------------------------------------------------------
+    // Listener loop
+    // -------------------------------------------------------------------------
+
+    private void runLoop() {
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+                listen(conn);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Profile change listener disconnected: {}", e.getMessage());
+                }
+            } finally {
+                listening = false;
+            }
+            // 연결이 끊긴 동안의 변경을 놓쳤을 수 있다
+            ownerProfileProjection.invalidateAll();
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(Connection conn) throws SQLException {
+        PGConnection pgConnection = conn.unwrap(PGConnection.class);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("LISTEN " + CHANNEL);
+        }
+        // LISTEN 이전에 적재된 값은 알림 없이 바뀌었을 수 있다
+        ownerProfileProjection.invalidateAll();
+        listening = true;
+        log.info("Listening for profile changes on channel {}", CHANNEL);
+
+        long lastValidatedAt = System.currentTimeMillis();
+        while (running) {
+            PGNotification[] received = pgConnection.getNotifications(pollTimeoutMs);
+            if (received == null || received.length == 0) {
+                long now = System.currentTimeMillis();
+                if (now - lastValidatedAt >= validationIntervalMs) {
+                    if (!conn.isValid(5)) {
+                        throw new SQLException("LISTEN connection is no longer valid");
+                    }
+                    lastValidatedAt = now;
+                }
+                continue;
+            }
+            for (PGNotification notification : received) {
+                apply(notification.getParameter());
+            }
+            lastValidatedAt = System.currentTimeMillis();
+        }
+    }
+
+    private void apply(String payload) {
+        notifications.increment();
+        try {
+            ownerProfileProjection.invalidate(UUID.fromString(payload));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unexpected profile_changes payload '{}', clearing owner profile projection", payload);
+            ownerProfileProjection.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.prompthub.api.profile;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 소유자 ID -> (display_name, avatar_url) in-memory projection.
+ * 템플릿/랭킹 조회 SQL이 profiles를 JOIN하지 않고, 응답을 만들 때 여기서 채운다.
+ * - 처음 요청된 ID만 적재한다 (lazy). 없는 ID들은 ProfileMapper 한 문장으로 함께 조회한다.
+ * - maximum-size를 넘으면 Caffeine이 자주 쓰이지 않는 항목부터 제거한다.
+ * - 프로필 변경은 OwnerProfileChangeListener(LISTEN profile_changes)가 invalidate로 반영한다.
+ *   알림을 받지 못하는 경우(listener 비활성화, 재연결 전)를 위해 ttl이 지나면 다시 적재한다.
+ * - 조회 중에 invalidate가 들어오면 그 조회 결과는 캐시에 남기지 않는다 (generation 비교).
+ */
+@Component
+public class OwnerProfileProjection {
+
+    private final ProfileMapper profileMapper;
+    private final Cache<UUID, OwnerProfile> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public OwnerProfileProjection(ProfileMapper profileMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${profile.projection.maximum-size:100000}") long maximumSize,
+                                  @Value("${profile.projection.ttl-seconds:600}") long ttlSeconds) {
+        this.profileMapper = profileMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "owner_profiles");
+    }
+
+    /**
+     * 소유자 프로필 단건 조회 (projection 우선).
+     */
+    public OwnerProfile get(UUID ownerId) {
+        OwnerProfile cached = cache.getIfPresent(ownerId);
+        return cached != null ? cached : getAll(Set.of(ownerId)).get(ownerId);
+    }
+
+    /**
+     * 소유자 프로필 일괄 조회. projection에 없는 ID는 한 번의 쿼리로 적재한다.
+     * 반환 Map에는 ownerIds의 모든 ID가 들어 있다 (프로필이 없으면 필드가 null인 항목).
+     */
+    public Map<UUID, OwnerProfile> getAll(Collection<UUID> ownerIds) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ownerIds);
+        Map<UUID, OwnerProfile> result = new HashMap<>(cache.getAllPresent(distinctIds));
+        if (result.size() == distinctIds.size()) {
+            return result;
+        }
+        distinctIds.removeAll(result.keySet());
+
+        long startedGeneration = generation.get();
+        Map<UUID, OwnerProfile> loaded = new HashMap<>(distinctIds.size() * 2);
+        for (OwnerProfile profile : profileMapper.findOwnerProfiles(distinctIds.toArray(UUID[]::new))) {
+            loaded.put(profile.id(), profile);
+        }
+        for (UUID id : distinctIds) {
+            loaded.putIfAbsent(id, OwnerProfile.missing(id));
+        }
+        result.putAll(loaded);
+
+        if (generation.get() == startedGeneration) {
+            cache.putAll(loaded);
+            // put과 invalidate가 겹친 경우 변경 전 값이 남지 않도록 다시 확인한다
+            if (generation.get() != startedGeneration) {
+                cache.invalidateAll(loaded.keySet());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 프로필 변경 알림 반영.
+     */
+    public void invalidate(UUID ownerId) {
+        generation.incrementAndGet();
+        cache.invalidate(ownerId);
+    }
+
+    /**
+     * 전체 비우기 (알림을 놓쳤을 수 있을 때).
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
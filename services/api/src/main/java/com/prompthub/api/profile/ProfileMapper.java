@@ -0,0 +1,20 @@
+package com.prompthub.api.profile;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * profiles 조회 MyBatis Mapper 인터페이스.
+ * SQL은 ProfileMapper.xml에 정의된다.
+ */
+@Mapper
+public interface ProfileMapper {
+
+    /**
+     * ids 중 존재하는 프로필의 id/display_name/avatar_url 조회 (PK 조회, uuid[] 파라미터 하나).
+     */
+    List<OwnerProfile> findOwnerProfiles(@Param("ids") UUID[] ids);
+}
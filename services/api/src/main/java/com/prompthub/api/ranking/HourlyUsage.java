@@ -0,0 +1,26 @@
+package com.prompthub.api.ranking;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * 템플릿별 시간(hour) 단위 사용 횟수.
+ * WeeklyRankingEngine 초기 적재용 집계 결과.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class HourlyUsage {
+
+    private UUID templateId;
+
+    /**
+     * epoch 기준 시간 번호 (epochSecond / 3600).
+     */
+    private long bucketHour;
+
+    private long useCount;
+}
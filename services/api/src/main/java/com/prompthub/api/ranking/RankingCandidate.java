@@ -0,0 +1,24 @@
+package com.prompthub.api.ranking;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 랭킹 후보 템플릿 메타데이터.
+ * WeeklyRankingEngine이 고른 후보 ID로 조회하며, created_at은 동점 정렬에 사용한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RankingCandidate {
+
+    private UUID templateId;
+    private String title;
+    private String description;
+    private UUID ownerId;
+    private OffsetDateTime createdAt;
+}
@@ -1,13 +1,14 @@
 package com.prompthub.api.ranking;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 /**
  * 주간 랭킹 REST 컨트롤러.
  */
@@ -15,25 +16,29 @@ import java.util.List;
 @RequestMapping("/api/rankings")
 public class RankingController {
 
-    private final RankingMapper rankingMapper;
+    private final WeeklyRankingCache weeklyRankingCache;
 
-    public RankingController(RankingMapper rankingMapper) {
-        this.rankingMapper = rankingMapper;
+    public RankingController(WeeklyRankingCache weeklyRankingCache) {
+        this.weeklyRankingCache = weeklyRankingCache;
     }
 
     /**
      * GET /api/rankings/weekly?limit=10
      * 최근 7일간 사용 횟수 기준 Top N 랭킹 반환.
+     * 캐시된 스냅샷의 직렬화 결과(Accept-Encoding이 gzip을 허용하면 미리 압축한 본문)를 그대로 내려주며,
+     * If-None-Match가 ETag와 같으면
+     * ResponseEntity 처리 단계에서 304 Not Modified로 응답한다.
      */
     @GetMapping("/weekly")
-    public ResponseEntity<List<RankingDto>> getWeeklyRanking(
-            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    public ResponseEntity<byte[]> getWeeklyRanking(
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         if (limit < 1 || limit > 100) {
             throw new IllegalArgumentException("limit must be between 1 and 100");
         }
 
-        List<RankingDto> rankings = rankingMapper.findWeeklyRanking(limit);
-        return ResponseEntity.ok(rankings);
+        return weeklyRankingCache.get(limit)
+                .toResponse(acceptEncoding, CacheControl.noCache().cachePrivate());
     }
 }
@@ -9,6 +9,7 @@ import java.util.UUID;
 
 /**
  * 주간 랭킹 응답 DTO.
+ * JSON 출력은 RankingDtoSerializer가 담당한다 (필드를 추가하면 함께 수정).
  */
 @Getter
 @Setter
@@ -0,0 +1,62 @@
+package com.prompthub.api.ranking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.prompthub.api.common.JsonWriters;
+import com.prompthub.api.common.UUIDStringCache;
+
+import java.io.IOException;
+
+/**
+ * RankingDto 전용 JsonSerializer (JacksonConfig에서 등록).
+ * 필드 순서와 값 형식은 기존 reflection 직렬화와 같다. RankingDto에 필드를 추가하면 여기에도 추가해야 한다.
+ */
+public class RankingDtoSerializer extends StdSerializer<RankingDto> {
+
+    private static final SerializableString RANK = new SerializedString("rank");
+    private static final SerializableString TEMPLATE_ID = new SerializedString("template_id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString OWNER_ID = new SerializedString("owner_id");
+    private static final SerializableString OWNER_DISPLAY_NAME = new SerializedString("owner_display_name");
+    private static final SerializableString OWNER_AVATAR_URL = new SerializedString("owner_avatar_url");
+    private static final SerializableString USE_COUNT_WEEKLY = new SerializedString("use_count_weekly");
+
+    private final UUIDStringCache uuidStringCache;
+
+    public RankingDtoSerializer(UUIDStringCache uuidStringCache) {
+        super(RankingDto.class);
+        this.uuidStringCache = uuidStringCache;
+    }
+
+    @Override
+    public void serialize(RankingDto value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        char[] scratch = new char[JsonWriters.SCRATCH_LENGTH];
+        generator.writeStartObject(value);
+        generator.writeFieldName(RANK);
+        generator.writeNumber(value.getRank());
+        generator.writeFieldName(TEMPLATE_ID);
+        JsonWriters.writeUuid(generator, value.getTemplateId(), scratch);
+        generator.writeFieldName(TITLE);
+        JsonWriters.writeString(generator, value.getTitle());
+        generator.writeFieldName(DESCRIPTION);
+        JsonWriters.writeString(generator, value.getDescription());
+        generator.writeFieldName(OWNER_ID);
+        if (value.getOwnerId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(uuidStringCache.get(value.getOwnerId()));
+        }
+        generator.writeFieldName(OWNER_DISPLAY_NAME);
+        JsonWriters.writeString(generator, value.getOwnerDisplayName());
+        generator.writeFieldName(OWNER_AVATAR_URL);
+        JsonWriters.writeString(generator, value.getOwnerAvatarUrl());
+        generator.writeFieldName(USE_COUNT_WEEKLY);
+        generator.writeNumber(value.getUseCountWeekly());
+        generator.writeEndObject();
+    }
+}
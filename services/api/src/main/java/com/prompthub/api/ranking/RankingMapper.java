@@ -3,7 +3,10 @@ package com.prompthub.api.ranking;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * 랭킹 집계 MyBatis Mapper 인터페이스.
@@ -13,9 +16,20 @@ import java.util.List;
 public interface RankingMapper {
 
     /**
-     * 최근 7일간 usage_events 집계 Top N.
+     * since 이후(최근 7일) usage_events 집계 Top N.
      *
      * @param limit 반환할 최대 건수 (기본 10)
+     * @param since 집계 시작 시각 (파티션 pruning을 위해 bind 파라미터로 전달)
      */
-    List<RankingDto> findWeeklyRanking(@Param("limit") int limit);
+    List<RankingDto> findWeeklyRanking(@Param("limit") int limit, @Param("since") OffsetDateTime since);
+
+    /**
+     * since 이후 usage_events의 템플릿별 시간 단위 집계 (WeeklyRankingEngine 초기 적재용).
+     */
+    List<HourlyUsage> findHourlyUsage(@Param("since") OffsetDateTime since);
+
+    /**
+     * 랭킹 후보 ID 중 공개 템플릿의 메타데이터 조회.
+     */
+    List<RankingCandidate> findCandidates(@Param("ids") Collection<UUID> ids);
 }
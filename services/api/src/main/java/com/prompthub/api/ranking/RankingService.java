@@ -0,0 +1,115 @@
+package com.prompthub.api.ranking;
+
+import com.prompthub.api.profile.OwnerProfile;
+import com.prompthub.api.profile.OwnerProfileProjection;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 주간 랭킹 조회 로직.
+ * WeeklyRankingEngine이 준비되어 있으면 메모리 집계 + 후보 PK 조회로 응답하고,
+ * 그렇지 않으면 usage_events 집계 SQL(findWeeklyRanking)로 응답한다.
+ * 두 경우 모두 소유자 display_name, avatar_url은 OwnerProfileProjection에서 채운다.
+ */
+@Service
+public class RankingService {
+
+    private static final int MIN_CANDIDATES = 20;
+
+    private final RankingMapper rankingMapper;
+    private final WeeklyRankingEngine weeklyRankingEngine;
+    private final OwnerProfileProjection ownerProfileProjection;
+
+    public RankingService(RankingMapper rankingMapper,
+                          WeeklyRankingEngine weeklyRankingEngine,
+                          OwnerProfileProjection ownerProfileProjection) {
+        this.rankingMapper = rankingMapper;
+        this.weeklyRankingEngine = weeklyRankingEngine;
+        this.ownerProfileProjection = ownerProfileProjection;
+    }
+
+    /**
+     * 최근 7일간 사용 횟수 기준 Top N.
+     * 순위는 RANK() 의미(동점은 같은 순위, 다음 순위는 건너뜀)를 따르고,
+     * 동점 내 정렬은 created_at 오름차순이다.
+     */
+    public List<RankingDto> getWeeklyRanking(int limit) {
+        if (!weeklyRankingEngine.isReady()) {
+            return fillOwners(rankingMapper.findWeeklyRanking(limit, OffsetDateTime.now(ZoneOffset.UTC).minusDays(7)));
+        }
+
+        // 비공개/삭제된 템플릿이 후보에서 빠질 수 있으므로 공개 템플릿이 limit개 모일 때까지 후보를 늘린다
+        int k = Math.max(limit * 2, MIN_CANDIDATES);
+        while (true) {
+            List<WeeklyRankingEngine.TemplateCount> candidates = weeklyRankingEngine.topCandidates(k);
+            List<RankingDto> ranked = rank(candidates);
+            if (ranked.size() >= limit || candidates.size() < k) {
+                return fillOwners(ranked.size() > limit ? ranked.subList(0, limit) : ranked);
+            }
+            k *= 4;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private List<RankingDto> rank(List<WeeklyRankingEngine.TemplateCount> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Long> counts = new HashMap<>(candidates.size() * 2);
+        for (WeeklyRankingEngine.TemplateCount candidate : candidates) {
+            counts.put(candidate.templateId(), candidate.count());
+        }
+
+        List<RankingCandidate> visible = new ArrayList<>(rankingMapper.findCandidates(counts.keySet()));
+        visible.sort(Comparator
+                .comparingLong((RankingCandidate c) -> counts.get(c.getTemplateId())).reversed()
+                .thenComparing(RankingCandidate::getCreatedAt));
+
+        List<RankingDto> result = new ArrayList<>(visible.size());
+        long previousCount = -1;
+        int rank = 0;
+        for (int i = 0; i < visible.size(); i++) {
+            RankingCandidate candidate = visible.get(i);
+            long count = counts.get(candidate.getTemplateId());
+            if (count != previousCount) {
+                rank = i + 1;
+                previousCount = count;
+            }
+            result.add(toDto(candidate, rank, count));
+        }
+        return result;
+    }
+
+    private List<RankingDto> fillOwners(List<RankingDto> ranking) {
+        Map<UUID, OwnerProfile> owners = ownerProfileProjection.getAll(
+                ranking.stream().map(RankingDto::getOwnerId).toList());
+        for (RankingDto dto : ranking) {
+            OwnerProfile owner = owners.get(dto.getOwnerId());
+            dto.setOwnerDisplayName(owner.displayName());
+            dto.setOwnerAvatarUrl(owner.avatarUrl());
+        }
+        return ranking;
+    }
+
+    private RankingDto toDto(RankingCandidate candidate, int rank, long count) {
+        RankingDto dto = new RankingDto();
+        dto.setRank(rank);
+        dto.setTemplateId(candidate.getTemplateId());
+        dto.setTitle(candidate.getTitle());
+        dto.setDescription(candidate.getDescription());
+        dto.setOwnerId(candidate.getOwnerId());
+        dto.setUseCountWeekly((int) count);
+        return dto;
+    }
+}
@@ -0,0 +1,163 @@
+package com.prompthub.api.ranking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prompthub.api.common.PayloadCompressor;
+import com.prompthub.api.common.PrecompressedPayload;
+import com.prompthub.api.common.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 주간 랭킹 Top 100 스냅샷 캐시.
+ * - 모든 호출자에게 같은 결과이므로 Top 100을 한 번 조회해 두고, limit <= 100 요청은 앞부분을 잘라 응답한다.
+ * - limit별 JSON 직렬화 결과(byte[]), 미리 압축한 gzip 본문과 strong ETag를 스냅샷 안에 보관한다 (PayloadCompressor).
+ * - 스냅샷이 ttl을 넘기면 이전 스냅샷으로 응답하면서 백그라운드에서 한 번만 갱신한다 (single-flight).
+ *   스냅샷이 없을 때(기동 직후)만 호출자가 진행 중인 갱신 결과를 함께 기다린다.
+ * 조회 결과는 ranking.cache.requests{result=hit|stale|miss}로 센다.
+ */
+@Component
+public class WeeklyRankingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(WeeklyRankingCache.class);
+
+    static final int MAX_LIMIT = 100;
+
+    private record Snapshot(List<RankingDto> items, long loadedAtNanos,
+                            ConcurrentHashMap<Integer, PrecompressedPayload> payloads) {
+    }
+
+    private final RankingService rankingService;
+    private final ObjectMapper objectMapper;
+    private final PayloadCompressor payloadCompressor;
+    private final TaskExecutor taskExecutor;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    private volatile Snapshot snapshot;
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    public WeeklyRankingCache(RankingService rankingService,
+                              ObjectMapper objectMapper,
+                              PayloadCompressor payloadCompressor,
+                              @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                              MeterRegistry meterRegistry,
+                              @Value("${ranking.cache.ttl-ms:30000}") long ttlMs) {
+        this.rankingService = rankingService;
+        this.objectMapper = objectMapper;
+        this.payloadCompressor = payloadCompressor;
+        this.taskExecutor = taskExecutor;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    /**
+     * Top limit 랭킹의 직렬화된 응답을 반환한다.
+     */
+    public PrecompressedPayload get(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            misses.increment();
+            current = awaitRefresh();
+        } else if (System.nanoTime() - current.loadedAtNanos() > ttlNanos) {
+            // stale-while-revalidate: 현재 스냅샷으로 응답하고 갱신은 백그라운드에서
+            staleHits.increment();
+            refresh();
+        } else {
+            hits.increment();
+        }
+        Snapshot target = current;
+        return target.payloads().computeIfAbsent(limit, l -> serialize(target.items(), l));
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * 진행 중인 갱신이 있으면 그 future를, 없으면 새 갱신을 시작해 그 future를 반환한다.
+     */
+    private CompletableFuture<Snapshot> refresh() {
+        while (true) {
+            CompletableFuture<Snapshot> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Snapshot> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                try {
+                    taskExecutor.execute(() -> load(future));
+                } catch (RuntimeException e) {
+                    // 실행기가 작업을 거절하면 load가 돌지 않으므로 여기서 끝내야 다음 갱신이 가능하다
+                    log.warn("Failed to schedule weekly ranking cache refresh: {}", e.getMessage());
+                    inFlight.compareAndSet(future, null);
+                    future.completeExceptionally(
+                            new ServiceUnavailableException("Weekly ranking is temporarily unavailable", 1));
+                }
+                return future;
+            }
+        }
+    }
+
+    private Snapshot awaitRefresh() {
+        try {
+            return refresh().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void load(CompletableFuture<Snapshot> future) {
+        try {
+            List<RankingDto> items = List.copyOf(rankingService.getWeeklyRanking(MAX_LIMIT));
+            Snapshot loaded = new Snapshot(items, System.nanoTime(), new ConcurrentHashMap<>());
+            snapshot = loaded;
+            future.complete(loaded);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh weekly ranking cache: {}", e.getMessage());
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ranking.cache.requests")
+                .tag("result", result)
+                .description("Weekly ranking snapshot lookups")
+                .register(meterRegistry);
+    }
+
+    private PrecompressedPayload serialize(List<RankingDto> items, int limit) {
+        try {
+            return payloadCompressor.compress(
+                    objectMapper.writeValueAsBytes(items.subList(0, Math.min(limit, items.size()))));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
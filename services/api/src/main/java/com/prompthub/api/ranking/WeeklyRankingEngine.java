@@ -0,0 +1,277 @@
+package com.prompthub.api.ranking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 최근 7일 사용 횟수를 프로세스 내부에서 증분 유지하는 랭킹 엔진.
+ * - 168개(7일 x 24시간) hourly slice를 ring으로 유지하고, 사용 이벤트가 들어올 때 해당 slice와 합계를 증가시킨다.
+ * - 매 정시에 가장 오래된 slice를 만료시키고 그 값을 합계에서 차감한다.
+ * - Top-N 후보는 합계 맵을 한 번 순회하며 크기 N의 heap으로 고른다.
+ * - 기동 시 usage_events 시간 단위 집계 쿼리 1회로 상태를 복원한다.
+ *   집계 쿼리가 도는 동안 들어온 record는 버퍼에 모았다가 복원 직후 다시 반영하므로 잃지 않는다.
+ *   record는 이벤트가 커밋된(비동기 모드는 기록된) 뒤에 호출되므로 복원 시작 전의 record는 집계 결과에 포함된다.
+ *   커밋 직후 record 직전에 복원이 시작된 이벤트만 한 번 더 셀 수 있다.
+ *
+ * 집계 창은 "현재 시각이 속한 시간 포함 168시간"으로, SQL 집계(NOW() - 7 days)와 최대 1시간 차이가 날 수 있다.
+ * 인스턴스별 메모리 상태이므로 다중 인스턴스 배포에서는 ranking.engine.enabled=false 로 SQL 집계를 사용한다.
+ */
+@Component
+public class WeeklyRankingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(WeeklyRankingEngine.class);
+
+    static final int SLICE_COUNT = 7 * 24;
+
+    /**
+     * 템플릿별 주간 사용 횟수.
+     */
+    public record TemplateCount(UUID templateId, long count) {
+    }
+
+    private final RankingMapper rankingMapper;
+    private final boolean enabled;
+
+    @SuppressWarnings("unchecked")
+    private final Map<UUID, LongAdder>[] slices = new Map[SLICE_COUNT];
+    private final ConcurrentHashMap<UUID, LongAdder> totals = new ConcurrentHashMap<>();
+
+    // record는 read lock(동시 실행), slice 회전/복원은 write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // 복원 중 들어온 record (복원 결과 위에 다시 반영)
+    private final Queue<PendingRecord> pendingRecords = new ConcurrentLinkedQueue<>();
+    private volatile long currentHour;
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+
+    public WeeklyRankingEngine(RankingMapper rankingMapper,
+                               @Value("${ranking.engine.enabled:true}") boolean enabled) {
+        this.rankingMapper = rankingMapper;
+        this.enabled = enabled;
+        this.currentHour = hourOf(Instant.now().getEpochSecond());
+        for (int i = 0; i < SLICE_COUNT; i++) {
+            slices[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * 초기 적재가 끝나 랭킹 요청을 처리할 수 있는 상태인지 여부.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 사용 이벤트 1건을 반영한다.
+     * 현재 시각 이후의 used_at(배치 API의 clock-skew 허용분)은 현재 시간 slice에 넣는다.
+     * slice 회전은 실제 시각으로만 일어나야 가장 오래된 slice가 일찍 만료되지 않는다.
+     */
+    public void record(UUID templateId, OffsetDateTime usedAt) {
+        if (!enabled) {
+            return;
+        }
+        long hour = Math.min(hourOf(usedAt.toEpochSecond()), hourOf(Instant.now().getEpochSecond()));
+        if (hour > currentHour) {
+            advance(hour);
+        }
+        lock.readLock().lock();
+        try {
+            if (rebuilding) {
+                pendingRecords.add(new PendingRecord(templateId, hour));
+                return;
+            }
+            apply(templateId, hour, 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 매 정시에 가장 오래된 slice를 만료시킨다.
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public void expireOldestSlice() {
+        if (enabled) {
+            advance(hourOf(Instant.now().getEpochSecond()));
+        }
+    }
+
+    /**
+     * 사용 횟수 상위 k개 후보를 횟수 내림차순으로 반환한다.
+     * k번째 후보와 같은 횟수의 템플릿도 모두 포함하므로 결과가 k개보다 많을 수 있다
+     * (호출 측에서 created_at 기준 동점 정렬을 정확히 하기 위함).
+     */
+    public List<TemplateCount> topCandidates(int k) {
+        long nowHour = hourOf(Instant.now().getEpochSecond());
+        if (nowHour > currentHour) {
+            advance(nowHour);
+        }
+
+        PriorityQueue<TemplateCount> heap = new PriorityQueue<>(k + 1, Comparator.comparingLong(TemplateCount::count));
+        List<TemplateCount> boundaryTies = new ArrayList<>();
+        for (Map.Entry<UUID, LongAdder> entry : totals.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count <= 0) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(new TemplateCount(entry.getKey(), count));
+            } else if (count > heap.peek().count()) {
+                TemplateCount evicted = heap.poll();
+                heap.add(new TemplateCount(entry.getKey(), count));
+                if (evicted.count() == heap.peek().count()) {
+                    boundaryTies.add(evicted);
+                }
+            } else if (count == heap.peek().count()) {
+                boundaryTies.add(new TemplateCount(entry.getKey(), count));
+            }
+        }
+
+        List<TemplateCount> result = new ArrayList<>(heap.size() + boundaryTies.size());
+        result.addAll(heap);
+        if (!heap.isEmpty()) {
+            long minCount = heap.peek().count();
+            for (TemplateCount tie : boundaryTies) {
+                if (tie.count() == minCount) {
+                    result.add(tie);
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(TemplateCount::count).reversed());
+        return result;
+    }
+
+    /**
+     * 기동 후 최근 168시간의 시간 단위 집계를 읽어 상태를 복원한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // 이 시점 이후의 record는 버퍼로 (진행 중인 record는 write lock을 잡으며 끝난다)
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long nowHour = hourOf(Instant.now().getEpochSecond());
+        long firstHour = nowHour - SLICE_COUNT + 1;
+        List<HourlyUsage> rows = null;
+        try {
+            rows = rankingMapper.findHourlyUsage(
+                    OffsetDateTime.ofInstant(Instant.ofEpochSecond(firstHour * 3600), ZoneOffset.UTC));
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild weekly ranking engine, falling back to SQL aggregation: {}", e.getMessage());
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (rows != null) {
+                totals.clear();
+                for (int i = 0; i < SLICE_COUNT; i++) {
+                    slices[i].clear();
+                }
+                // 쿼리 도중 정시가 지나 advance된 경우 더 늦은 시각 기준으로 맞춘다
+                currentHour = Math.max(currentHour, nowHour);
+                for (HourlyUsage row : rows) {
+                    if (row.getBucketHour() > nowHour) {
+                        continue;
+                    }
+                    apply(row.getTemplateId(), row.getBucketHour(), row.getUseCount());
+                }
+                ready = true;
+            }
+            // 복원 실패 시에도 기존 상태 위에 반영해 잃지 않는다
+            for (PendingRecord pending = pendingRecords.poll(); pending != null; pending = pendingRecords.poll()) {
+                apply(pending.templateId(), pending.hour(), 1);
+            }
+            rebuilding = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rows != null) {
+            log.info("Weekly ranking engine rebuilt from {} hourly buckets ({} templates)", rows.size(), totals.size());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * hour slice와 합계에 count를 더한다. 이미 창 밖으로 밀려난 시간대는 무시한다.
+     * read lock(record) 또는 write lock(rebuild) 안에서 호출한다.
+     */
+    private void apply(UUID templateId, long hour, long count) {
+        if (hour <= currentHour - SLICE_COUNT) {
+            return;
+        }
+        slices[slotOf(hour)].computeIfAbsent(templateId, id -> new LongAdder()).add(count);
+        totals.computeIfAbsent(templateId, id -> new LongAdder()).add(count);
+    }
+
+    /**
+     * currentHour를 targetHour까지 전진시키며, 창 밖으로 밀려나는 slice를 합계에서 차감하고 비운다.
+     */
+    private void advance(long targetHour) {
+        lock.writeLock().lock();
+        try {
+            if (targetHour <= currentHour) {
+                return;
+            }
+            long from = Math.max(currentHour + 1, targetHour - SLICE_COUNT + 1);
+            for (long h = from; h <= targetHour; h++) {
+                // 시간 h가 쓸 slot에는 h - 168 시간의 값이 남아 있다
+                Map<UUID, LongAdder> expired = slices[slotOf(h)];
+                for (Map.Entry<UUID, LongAdder> entry : expired.entrySet()) {
+                    LongAdder total = totals.get(entry.getKey());
+                    if (total != null) {
+                        total.add(-entry.getValue().sum());
+                        if (total.sum() <= 0) {
+                            totals.remove(entry.getKey());
+                        }
+                    }
+                }
+                expired.clear();
+            }
+            currentHour = targetHour;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record PendingRecord(UUID templateId, long hour) {
+    }
+
+    private static long hourOf(long epochSecond) {
+        return Math.floorDiv(epochSecond, 3600);
+    }
+
+    private static int slotOf(long hour) {
+        return (int) Math.floorMod(hour, (long) SLICE_COUNT);
+    }
+}
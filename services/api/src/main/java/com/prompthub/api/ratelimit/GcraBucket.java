@@ -0,0 +1,39 @@
+package com.prompthub.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GCRA(Generic Cell Rate Algorithm) 방식 token bucket.
+ * - 상태는 다음 요청의 이론적 도착 시각(TAT) 하나뿐이며 AtomicLong CAS로 갱신하므로 lock이 없다.
+ * - 요청 간격(emissionInterval) = period / limit, burst만큼은 연속 요청을 허용한다.
+ * - 토큰 수를 주기적으로 채우는 작업이 필요 없다 (시간 차이로 계산).
+ */
+public final class GcraBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public GcraBucket(long emissionIntervalNanos, int burst, long nowNanos) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1L);
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 요청 1건을 허용하면 0, 거절하면 다시 시도할 수 있을 때까지 남은 시간(ns)을 반환한다.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long base = Math.max(tat, nowNanos);
+            long allowAt = base - burstToleranceNanos;
+            if (nowNanos < allowAt) {
+                return allowAt - nowNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
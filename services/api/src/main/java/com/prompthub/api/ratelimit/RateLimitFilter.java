@@ -0,0 +1,197 @@
+package com.prompthub.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prompthub.api.auth.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 쓰기 API 요청 수 제한 필터 (JwtAuthFilter 다음, 컨트롤러/DB 접근 전).
+ * - endpoint group마다 사용자(UserPrincipal.userId) 기준, 클라이언트 IP 기준 bucket을 각각 두고
+ *   둘 다 통과해야 요청을 처리한다. 초과하면 429와 Retry-After(초)로 응답한다.
+ * - bucket은 GcraBucket(AtomicLong 하나, lock 없음)이며, 최대 max-keys개까지
+ *   idle-expire-seconds 동안 쓰이지 않으면 제거되는 Caffeine 캐시에 둔다.
+ * - 클라이언트 IP는 request.getRemoteAddr()이다. reverse proxy 뒤에서는
+ *   server.forward-headers-strategy를 설정해야 실제 클라이언트 IP로 제한된다.
+ * 상태는 인스턴스 메모리에만 있으므로 다중 인스턴스 배포에서는 인스턴스마다 따로 제한된다.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 제한 대상 endpoint group과 group별 기본 한도 (분당 요청 수, burst).
+     * 한도는 rate-limit.groups.{name}.{user|ip}-per-minute / {user|ip}-burst로 바꿀 수 있다.
+     */
+    private static final List<GroupDefinition> GROUPS = List.of(
+            new GroupDefinition("usage", 120, 30, 600, 100,
+                    request -> "POST".equals(request.getMethod())
+                            && (path(request).equals("/api/usage") || path(request).equals("/api/usage/batch"))),
+            new GroupDefinition("template-create", 30, 10, 300, 50,
+                    request -> "POST".equals(request.getMethod())
+                            && (path(request).equals("/api/templates") || path(request).equals("/api/templates/batch"))),
+            new GroupDefinition("template-clone", 30, 10, 300, 50,
+                    request -> "POST".equals(request.getMethod())
+                            && path(request).startsWith("/api/templates/") && path(request).endsWith("/clone"))
+    );
+
+    private final boolean enabled;
+    private final List<Group> groups;
+    private final Cache<BucketKey, GcraBucket> buckets;
+
+    public RateLimitFilter(Environment environment,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-keys:100000}") long maxKeys,
+                           @Value("${rate-limit.idle-expire-seconds:600}") long idleExpireSeconds) {
+        this.enabled = enabled;
+        this.groups = GROUPS.stream()
+                .map(definition -> definition.resolve(environment, meterRegistry))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(idleExpireSeconds))
+                .build();
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || groupOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Group group = groupOf(request);
+        long now = System.nanoTime();
+
+        UserPrincipal principal = currentPrincipal();
+        if (principal != null) {
+            long waitNanos = acquire(new BucketKey(group.name(), principal.getUserId()), group.user(), now);
+            if (waitNanos > 0) {
+                group.userRejected().increment();
+                writeTooManyRequests(response, waitNanos);
+                return;
+            }
+        }
+        long waitNanos = acquire(new BucketKey(group.name(), request.getRemoteAddr()), group.ip(), now);
+        if (waitNanos > 0) {
+            group.ipRejected().increment();
+            writeTooManyRequests(response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private Group groupOf(HttpServletRequest request) {
+        for (Group group : groups) {
+            if (group.matcher().test(request)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private long acquire(BucketKey key, Limit limit, long now) {
+        GcraBucket bucket = buckets.get(key, k -> new GcraBucket(limit.emissionIntervalNanos(), limit.burst(), now));
+        return bucket.tryAcquire(now);
+    }
+
+    private static UserPrincipal currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        return null;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getServletPath();
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(MAPPER.writeValueAsString(Map.of("error", "Too many requests")));
+    }
+
+    /**
+     * 분당 permitsPerMinute건, 연속 burst건까지 허용하는 한도.
+     */
+    private record Limit(long emissionIntervalNanos, int burst) {
+
+        static Limit of(String group, String subject, int permitsPerMinute, int burst) {
+            if (permitsPerMinute < 1 || burst < 1) {
+                throw new IllegalArgumentException(
+                        "rate-limit.groups." + group + "." + subject + " limits must be at least 1");
+            }
+            return new Limit(TimeUnit.MINUTES.toNanos(1) / permitsPerMinute, burst);
+        }
+    }
+
+    private record Group(String name, Predicate<HttpServletRequest> matcher, Limit user, Limit ip,
+                         Counter userRejected, Counter ipRejected) {
+    }
+
+    private record GroupDefinition(String name, int userPerMinute, int userBurst, int ipPerMinute, int ipBurst,
+                                   Predicate<HttpServletRequest> matcher) {
+
+        Group resolve(Environment environment, MeterRegistry meterRegistry) {
+            String prefix = "rate-limit.groups." + name + ".";
+            Limit user = Limit.of(name, "user",
+                    environment.getProperty(prefix + "user-per-minute", Integer.class, userPerMinute),
+                    environment.getProperty(prefix + "user-burst", Integer.class, userBurst));
+            Limit ip = Limit.of(name, "ip",
+                    environment.getProperty(prefix + "ip-per-minute", Integer.class, ipPerMinute),
+                    environment.getProperty(prefix + "ip-burst", Integer.class, ipBurst));
+            return new Group(name, matcher, user, ip, rejected(meterRegistry, "user"), rejected(meterRegistry, "ip"));
+        }
+
+        private Counter rejected(MeterRegistry meterRegistry, String key) {
+            return Counter.builder("ratelimit.rejected")
+                    .tag("group", name)
+                    .tag("key", key)
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .register(meterRegistry);
+        }
+    }
+
+    private record BucketKey(String group, Object subject) {
+    }
+}
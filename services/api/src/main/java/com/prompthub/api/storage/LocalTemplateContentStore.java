@@ -0,0 +1,106 @@
+package com.prompthub.api.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * 로컬 파일시스템 본문 저장소 (테스트/셀프 호스팅용).
+ * root 아래에 storage_path 그대로 파일을 둔다. root 밖을 가리키는 경로는 거부한다.
+ */
+@Component
+@ConditionalOnProperty(name = "template.content.store", havingValue = "local", matchIfMissing = true)
+public class LocalTemplateContentStore implements TemplateContentStore {
+
+    private final Path root;
+
+    public LocalTemplateContentStore(@Value("${template.content.local.root:./data/templates}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Optional<Metadata> stat(String storagePath) throws IOException {
+        Path file = resolve(storagePath);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        // 크기 + 수정 시각 기반 ETag (본문 해시 계산 없이 stat 한 번으로 결정)
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(modified) + "\"";
+        return Optional.of(new Metadata(size, attributes.lastModifiedTime().toInstant(), etag));
+    }
+
+    @Override
+    public byte[] read(String storagePath) throws IOException {
+        return Files.readAllBytes(resolve(storagePath));
+    }
+
+    /**
+     * FileChannel.transferTo로 복사한다. out이 소켓 채널이면 커널이 page cache에서 바로 전송한다.
+     */
+    @Override
+    public void copyTo(String storagePath, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(storagePath), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 rename하여, 읽는 쪽이 쓰다 만 파일을 보지 않게 한다.
+     */
+    @Override
+    public void write(String storagePath, byte[] body) throws IOException {
+        Path file = resolve(storagePath);
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temp, body);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void delete(String storagePath) throws IOException {
+        Files.deleteIfExists(resolve(storagePath));
+    }
+
+    @Override
+    public Optional<Path> localFile(String storagePath) {
+        return Optional.of(resolve(storagePath));
+    }
+
+    private Path resolve(String storagePath) {
+        Path file = root.resolve(storagePath).normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage path");
+        }
+        return file;
+    }
+}
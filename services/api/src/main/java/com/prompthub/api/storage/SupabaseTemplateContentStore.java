@@ -0,0 +1,118 @@
+package com.prompthub.api.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Supabase Storage 본문 저장소.
+ * service role 키로 templates 버킷의 객체를 조회한다 (접근 권한은 API에서 먼저 검사한다).
+ */
+@Component
+@ConditionalOnProperty(name = "template.content.store", havingValue = "supabase")
+public class SupabaseTemplateContentStore implements TemplateContentStore {
+
+    private static final String OBJECT_URI = "/storage/v1/object/{bucket}/{path}";
+    private static final MediaType MARKDOWN = MediaType.parseMediaType("text/markdown");
+
+    private final RestClient restClient;
+    private final String bucket;
+
+    public SupabaseTemplateContentStore(RestClient.Builder restClientBuilder,
+                                        @Value("${supabase.url}") String supabaseUrl,
+                                        @Value("${supabase.service-role-key}") String serviceRoleKey,
+                                        @Value("${template.content.supabase.bucket:templates}") String bucket) {
+        this.restClient = restClientBuilder
+                .baseUrl(supabaseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + serviceRoleKey)
+                .defaultHeader("apikey", serviceRoleKey)
+                .build();
+        this.bucket = bucket;
+    }
+
+    @Override
+    public Optional<Metadata> stat(String storagePath) {
+        ResponseEntity<Void> head;
+        try {
+            head = restClient.head()
+                    .uri(OBJECT_URI, bucket, storagePath)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (HttpClientErrorException e) {
+            // Storage API는 없는 객체에 400 또는 404를 반환한다
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND || e.getStatusCode() == HttpStatus.BAD_REQUEST) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+        HttpHeaders headers = head.getHeaders();
+        long size = headers.getContentLength();
+        long modified = headers.getLastModified();
+        Instant lastModified = modified >= 0 ? Instant.ofEpochMilli(modified) : Instant.EPOCH;
+        String etag = headers.getETag() != null
+                ? headers.getETag()
+                : "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified.toEpochMilli()) + "\"";
+        return Optional.of(new Metadata(size, lastModified, etag));
+    }
+
+    @Override
+    public byte[] read(String storagePath) {
+        return restClient.get()
+                .uri(OBJECT_URI, bucket, storagePath)
+                .retrieve()
+                .body(byte[].class);
+    }
+
+    @Override
+    public void write(String storagePath, byte[] body) {
+        restClient.post()
+                .uri(OBJECT_URI, bucket, storagePath)
+                .header("x-upsert", "true")
+                .contentType(MARKDOWN)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    @Override
+    public void delete(String storagePath) {
+        try {
+            restClient.delete()
+                    .uri(OBJECT_URI, bucket, storagePath)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() != HttpStatus.NOT_FOUND && e.getStatusCode() != HttpStatus.BAD_REQUEST) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 응답 스트림을 out으로 그대로 복사한다 (본문 전체를 메모리에 올리지 않음).
+     * I/O 오류는 RestClient가 ResourceAccessException으로 감싸 전달한다.
+     */
+    @Override
+    public void copyTo(String storagePath, OutputStream out) {
+        restClient.get()
+                .uri(OBJECT_URI, bucket, storagePath)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new IOException("Storage returned " + response.getStatusCode());
+                    }
+                    response.getBody().transferTo(out);
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,43 @@
+package com.prompthub.api.storage;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * template_blobs (content-addressed 본문) MyBatis Mapper 인터페이스.
+ * SQL은 TemplateBlobMapper.xml에 정의된다.
+ * ref_count는 templates 트리거가 관리하므로 여기서는 증감하지 않는다.
+ */
+@Mapper
+public interface TemplateBlobMapper {
+
+    /**
+     * hash 단위 트랜잭션 범위 advisory lock (blob 적재와 GC 삭제를 직렬화).
+     */
+    void lockHash(@Param("hash") String hash);
+
+    /**
+     * blob 행이 없으면 ref_count 0으로 추가한다.
+     *
+     * @return 새로 추가되었으면 1, 이미 있으면 0
+     */
+    int insertIfAbsent(@Param("hash") String hash, @Param("size") int size);
+
+    /**
+     * blob 행 존재 여부.
+     */
+    boolean exists(@Param("hash") String hash);
+
+    /**
+     * unreferenced_since가 cutoff 이전인 미참조 blob hash 목록.
+     */
+    List<String> findUnreferencedBefore(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * 여전히 미참조 상태이고 cutoff 이전부터 미참조였던 경우에만 삭제한다.
+     */
+    int deleteIfUnreferenced(@Param("hash") String hash, @Param("cutoff") OffsetDateTime cutoff);
+}
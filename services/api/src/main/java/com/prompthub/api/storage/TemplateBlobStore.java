@@ -0,0 +1,184 @@
+package com.prompthub.api.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * content-addressed 템플릿 본문 저장 (006 마이그레이션의 template_blobs).
+ * - 본문은 SHA-256 hash로 식별하며 blobs/{hash 앞 2자리}/{hash}.md 에 한 번만 저장한다.
+ * - 참조 카운트는 templates.body_hash 트리거가 관리한다. 이 클래스는 blob 행/객체 생성과 GC만 담당한다.
+ * - blob 적재와 GC 삭제는 hash별 advisory lock으로 직렬화하여,
+ *   GC가 지운 객체를 같은 트랜잭션에서 다시 참조하는 경합을 막는다.
+ * - 새 blob 행과 함께 쓴 객체는 트랜잭션이 롤백되면 삭제한다 (GC는 template_blobs 행만 보므로
+ *   행 없이 남은 객체는 지워지지 않는다).
+ */
+@Component
+public class TemplateBlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateBlobStore.class);
+    private static final String BLOB_PREFIX = "blobs/";
+
+    private final TemplateBlobMapper templateBlobMapper;
+    private final TemplateContentStore contentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate cleanupTransactionTemplate;
+    private final boolean gcEnabled;
+    private final Duration gcGrace;
+    private final int gcBatchSize;
+
+    public TemplateBlobStore(TemplateBlobMapper templateBlobMapper,
+                             TemplateContentStore contentStore,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${template.content.blob-gc.enabled:true}") boolean gcEnabled,
+                             @Value("${template.content.blob-gc.grace-seconds:3600}") long gcGraceSeconds,
+                             @Value("${template.content.blob-gc.batch-size:500}") int gcBatchSize) {
+        this.templateBlobMapper = templateBlobMapper;
+        this.contentStore = contentStore;
+        this.transactionTemplate = transactionTemplate;
+        // 롤백 후 정리는 끝난 트랜잭션과 무관한 새 트랜잭션에서 실행한다
+        this.cleanupTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.cleanupTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.gcEnabled = gcEnabled;
+        this.gcGrace = Duration.ofSeconds(gcGraceSeconds);
+        this.gcBatchSize = gcBatchSize;
+    }
+
+    /**
+     * blob 저장 경로.
+     */
+    public static String pathOf(String hash) {
+        return BLOB_PREFIX + hash.substring(0, 2) + "/" + hash + ".md";
+    }
+
+    /**
+     * 본문 SHA-256 (소문자 hex).
+     */
+    public static String hashOf(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 본문 blob이 존재하도록 보장하고 hash를 반환한다.
+     * 호출자는 같은 트랜잭션에서 templates.body_hash를 이 hash로 설정해야 한다
+     * (advisory lock이 커밋까지 유지되어 그 사이 GC가 blob을 지우지 못한다).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String store(byte[] body) throws IOException {
+        String hash = hashOf(body);
+        templateBlobMapper.lockHash(hash);
+        boolean inserted = templateBlobMapper.insertIfAbsent(hash, body.length) == 1;
+        String path = pathOf(hash);
+        // 행은 있으나 객체가 없는 경우(이전 GC가 객체 삭제 후 커밋 실패)도 다시 쓴다
+        if (inserted || contentStore.stat(path).isEmpty()) {
+            contentStore.write(path, body);
+            if (inserted) {
+                deleteObjectAfterRollback(hash);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * grace 기간 이상 참조되지 않은 blob 행과 객체를 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${template.content.blob-gc.interval-ms:3600000}",
+               initialDelayString = "${template.content.blob-gc.interval-ms:3600000}")
+    public void collectGarbage() {
+        if (!gcEnabled) {
+            return;
+        }
+        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(gcGrace);
+        List<String> candidates;
+        try {
+            candidates = templateBlobMapper.findUnreferencedBefore(cutoff, gcBatchSize);
+        } catch (RuntimeException e) {
+            log.warn("Template blob GC failed: {}", e.getMessage());
+            return;
+        }
+
+        int deleted = 0;
+        for (String hash : candidates) {
+            try {
+                Boolean removed = transactionTemplate.execute(status -> {
+                    templateBlobMapper.lockHash(hash);
+                    if (templateBlobMapper.deleteIfUnreferenced(hash, cutoff) == 0) {
+                        return false;
+                    }
+                    // 객체 삭제가 실패하면 행 삭제도 롤백되어 다음 주기에 재시도된다
+                    try {
+                        contentStore.delete(pathOf(hash));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return true;
+                });
+                if (Boolean.TRUE.equals(removed)) {
+                    deleted++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete template blob {}: {}", hash, e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Template blob GC deleted {} of {} unreferenced blobs", deleted, candidates.size());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * 트랜잭션이 롤백되면 방금 쓴 객체를 삭제한다.
+     * advisory lock은 롤백과 함께 풀리므로, 다시 lock을 잡고 그 사이 다른 트랜잭션이 같은 hash의 행을
+     * 만들지 않은 경우에만 지운다.
+     */
+    private void deleteObjectAfterRollback(String hash) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    cleanupTransactionTemplate.executeWithoutResult(tx -> {
+                        templateBlobMapper.lockHash(hash);
+                        if (templateBlobMapper.exists(hash)) {
+                            return;
+                        }
+                        try {
+                            contentStore.delete(pathOf(hash));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Failed to delete template blob {} after rollback: {}", hash, e.getMessage());
+                }
+            }
+        });
+    }
+}
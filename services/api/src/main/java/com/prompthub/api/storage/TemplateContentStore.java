@@ -0,0 +1,53 @@
+package com.prompthub.api.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 템플릿 본문(Markdown) 저장소.
+ * 경로는 templates.storage_path 값({owner_id}/{template_id}.md, 버킷 기준 상대 경로)이다.
+ * template.content.store 설정으로 구현을 선택한다 (local | supabase).
+ */
+public interface TemplateContentStore {
+
+    /**
+     * 본문 메타데이터. etag는 따옴표를 포함한 HTTP ETag 형식이다.
+     */
+    record Metadata(long size, Instant lastModified, String etag) {
+    }
+
+    /**
+     * 본문 메타데이터 조회 (없으면 empty).
+     */
+    Optional<Metadata> stat(String storagePath) throws IOException;
+
+    /**
+     * 본문 전체를 메모리로 읽는다 (캐시 적재용).
+     */
+    byte[] read(String storagePath) throws IOException;
+
+    /**
+     * 본문을 out으로 그대로 복사한다.
+     */
+    void copyTo(String storagePath, OutputStream out) throws IOException;
+
+    /**
+     * 본문을 저장한다 (같은 경로가 있으면 덮어씀).
+     */
+    void write(String storagePath, byte[] body) throws IOException;
+
+    /**
+     * 본문을 삭제한다 (없으면 무시).
+     */
+    void delete(String storagePath) throws IOException;
+
+    /**
+     * 로컬 파일로 존재하는 경우 그 경로 (zero-copy 전송용). 원격 저장소는 empty.
+     */
+    default Optional<Path> localFile(String storagePath) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,432 @@
+package com.prompthub.api.template;
+
+import com.prompthub.api.common.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 공개 템플릿 제목/설명 in-memory 역색인 (자동완성용).
+ * - 문서는 내부 int docId로 식별하고, docId <-> UUID 사전을 둔다. docId는 추가 순서대로 증가한다.
+ * - 각 토큰의 1..max-prefix-length 글자 prefix마다 posting list(int 배열)를 두며,
+ *   항목은 (docId << 2 | flags) 형태로 저장한다. flags: 제목 토큰 여부, prefix가 토큰 전체와 같은지 여부.
+ *   posting은 docId 오름차순이므로 다중 토큰 질의는 정렬 병합(교집합)으로 처리한다.
+ * - 점수: 토큰별 일치 품질(기본 1, 제목 +1, 단어 전체 일치 +1) 합 x (1 + weight x ln(1 + use_count)).
+ * - 기동 시 DB에서 전체를 적재하고, 생성/수정/삭제는 커밋 후 증분 반영한다.
+ *   수정/삭제된 문서는 tombstone 처리되며 주기적 재구성 시 정리된다 (use_count도 이때 갱신).
+ */
+@Component
+public class PublicTemplateIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicTemplateIndex.class);
+
+    static final int FLAG_TITLE = 1;
+    static final int FLAG_EXACT = 2;
+    private static final int FLAG_BITS = 2;
+
+    /**
+     * 검색 결과 항목.
+     */
+    public record Hit(UUID id, String title, int useCount, double score) {
+    }
+
+    private final TemplateMapper templateMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxPrefixLength;
+    private final double popularityWeight;
+
+    // 조회는 read lock, 증분 반영/세그먼트 교체는 write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private volatile boolean ready;
+
+    // 재구성 중 들어온 변경 (새 세그먼트에 다시 적용)
+    private List<Consumer<Segment>> pendingDuringRebuild;
+
+    public PublicTemplateIndex(TemplateMapper templateMapper,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${template.index.enabled:true}") boolean enabled,
+                               @Value("${template.index.max-prefix-length:12}") int maxPrefixLength,
+                               @Value("${template.search.popularity-weight:0.1}") double popularityWeight,
+                               MeterRegistry meterRegistry) {
+        if (maxPrefixLength < 1) {
+            throw new IllegalArgumentException("template.index.max-prefix-length must be at least 1");
+        }
+        this.templateMapper = templateMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxPrefixLength = maxPrefixLength;
+        this.popularityWeight = popularityWeight;
+
+        Gauge.builder("template.index.documents", this, index -> index.read(Segment::liveCount))
+                .description("Public templates in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("template.index.memory.bytes", this, index -> index.read(Segment::estimateBytes))
+                .description("Estimated heap used by the in-memory search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("template.index.memory.bytes.per.10k", this, index -> index.read(s ->
+                        s.liveCount() == 0 ? 0.0 : s.estimateBytes() * 10_000.0 / s.liveCount()))
+                .description("Estimated index heap per 10k public templates")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 초기 적재가 끝나 질의를 처리할 수 있는 상태인지 여부.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * query의 모든 토큰을 (prefix로) 포함하는 공개 템플릿 상위 k개를 점수 내림차순으로 반환한다.
+     */
+    public List<Hit> search(String query, int k) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || k < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return segment.topK(tokens, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 생성/수정된 템플릿을 커밋 후 반영한다 (비공개로 바뀐 경우 색인에서 제거).
+     */
+    public void upsertAfterCommit(Template template) {
+        if (!enabled) {
+            return;
+        }
+        Template snapshot = template.copy();
+        AfterCommit.run(() -> apply(s -> {
+            s.remove(snapshot.getId());
+            if (snapshot.isPublic()) {
+                s.add(snapshot);
+            }
+        }));
+    }
+
+    /**
+     * 삭제된 템플릿을 커밋 후 색인에서 제거한다.
+     */
+    public void removeAfterCommit(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(s -> s.remove(id)));
+    }
+
+    /**
+     * DB에서 공개 템플릿 전체를 읽어 새 세그먼트를 만들고 교체한다.
+     * 기동 직후와 rebuild-interval마다 실행되며 tombstone 정리와 use_count 갱신을 겸한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${template.index.rebuild-interval-ms:600000}",
+               initialDelayString = "${template.index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Cursor<Template> cursor = templateMapper.streamAll(null, "public")) {
+                    for (Template template : cursor) {
+                        rebuilt.add(template);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild public template index: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            segment = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Public template index rebuilt ({} templates, {} prefixes, ~{} KiB)",
+                rebuilt.liveCount(), rebuilt.postings.size(), rebuilt.estimateBytes() / 1024);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<Segment, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(segment);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 소문자화 후 문자/숫자가 아닌 문자로 분리한다 (중복 제거, 순서 유지).
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * 증가형 int 배열 (posting list).
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * 색인 데이터 한 벌. lock 보호 하에서만 접근한다.
+     */
+    private final class Segment {
+
+        private final Map<String, IntList> postings = new HashMap<>();
+        private final Map<UUID, Integer> docIds = new HashMap<>();
+        private UUID[] uuids = new UUID[1024];
+        private String[] titles = new String[1024];
+        private int[] useCounts = new int[1024];
+        private final BitSet deleted = new BitSet();
+        private int docCount;
+
+        int liveCount() {
+            return docIds.size();
+        }
+
+        void add(Template template) {
+            if (docCount == Integer.MAX_VALUE >>> FLAG_BITS) {
+                throw new IllegalStateException("Public template index is full");
+            }
+            int docId = docCount++;
+            if (docId == uuids.length) {
+                int capacity = uuids.length * 2;
+                uuids = Arrays.copyOf(uuids, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                useCounts = Arrays.copyOf(useCounts, capacity);
+            }
+            uuids[docId] = template.getId();
+            titles[docId] = template.getTitle();
+            useCounts[docId] = template.getUseCount();
+            docIds.put(template.getId(), docId);
+
+            // prefix별 flags를 모아 문서당 prefix 하나에 posting 1개만 추가
+            Map<String, Integer> prefixFlags = new HashMap<>();
+            collectPrefixes(template.getTitle(), FLAG_TITLE, prefixFlags);
+            collectPrefixes(template.getDescription(), 0, prefixFlags);
+            prefixFlags.forEach((prefix, flags) ->
+                    postings.computeIfAbsent(prefix, p -> new IntList()).add(docId << FLAG_BITS | flags));
+        }
+
+        void remove(UUID id) {
+            Integer docId = docIds.remove(id);
+            if (docId != null) {
+                deleted.set(docId);
+                titles[docId] = null;
+            }
+        }
+
+        private void collectPrefixes(String text, int baseFlags, Map<String, Integer> prefixFlags) {
+            for (String token : tokenize(text)) {
+                int max = Math.min(token.length(), maxPrefixLength);
+                for (int len = 1; len <= max; len++) {
+                    if (Character.isHighSurrogate(token.charAt(len - 1))) {
+                        continue;
+                    }
+                    int flags = baseFlags | (len == token.length() ? FLAG_EXACT : 0);
+                    prefixFlags.merge(token.substring(0, len), flags, (a, b) -> a | b);
+                }
+            }
+        }
+
+        List<Hit> topK(List<String> tokens, int k) {
+            int[][] lists = new int[tokens.size()][];
+            int[] sizes = new int[tokens.size()];
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                IntList posting = postings.get(token.length() > maxPrefixLength
+                        ? token.substring(0, maxPrefixLength) : token);
+                if (posting == null) {
+                    return List.of();
+                }
+                lists[i] = posting.values;
+                sizes[i] = posting.size;
+            }
+            // 가장 짧은 posting을 기준으로 나머지와 교집합
+            Integer[] order = new Integer[lists.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingInt(i -> sizes[i]));
+
+            PriorityQueue<Hit> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Hit::score));
+            int[] cursors = new int[lists.length];
+            int[] driver = lists[order[0]];
+            outer:
+            for (int p = 0; p < sizes[order[0]]; p++) {
+                int docId = driver[p] >>> FLAG_BITS;
+                if (deleted.get(docId)) {
+                    continue;
+                }
+                int quality = quality(driver[p] & ((1 << FLAG_BITS) - 1));
+                for (int o = 1; o < order.length; o++) {
+                    int list = order[o];
+                    int found = seek(lists[list], sizes[list], cursors[list], docId);
+                    cursors[list] = found;
+                    if (found == sizes[list] || lists[list][found] >>> FLAG_BITS != docId) {
+                        continue outer;
+                    }
+                    quality += quality(lists[list][found] & ((1 << FLAG_BITS) - 1));
+                }
+                double score = quality * (1 + popularityWeight * Math.log1p(Math.max(useCounts[docId], 0)));
+                if (heap.size() < k) {
+                    heap.add(new Hit(uuids[docId], titles[docId], useCounts[docId], score));
+                } else if (score > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new Hit(uuids[docId], titles[docId], useCounts[docId], score));
+                }
+            }
+            List<Hit> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return result;
+        }
+
+        private int quality(int flags) {
+            return 1 + ((flags & FLAG_TITLE) != 0 ? 1 : 0) + ((flags & FLAG_EXACT) != 0 ? 1 : 0);
+        }
+
+        /**
+         * from 이후에서 docId 이상인 첫 위치 (galloping + 이진 탐색).
+         */
+        private int seek(int[] list, int size, int from, int docId) {
+            int bound = 1;
+            int lo = from;
+            while (lo + bound < size && list[lo + bound] >>> FLAG_BITS < docId) {
+                lo += bound;
+                bound <<= 1;
+            }
+            int hi = Math.min(lo + bound, size);
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (list[mid] >>> FLAG_BITS < docId) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * 대략적인 heap 사용량 (객체 헤더/참조 포함 추정치).
+         */
+        long estimateBytes() {
+            long bytes = 0;
+            for (Map.Entry<String, IntList> entry : postings.entrySet()) {
+                // HashMap.Node 32 + String 24 + byte[] 16 + 글자 + IntList 24 + int[] 16
+                bytes += 112 + entry.getKey().length() * 2L + entry.getValue().values.length * 4L;
+            }
+            // docIds: Node 32 + UUID 32 + Integer 16
+            bytes += docIds.size() * 80L;
+            // uuids/titles 참조 + useCounts
+            bytes += uuids.length * 16L;
+            for (int i = 0; i < docCount; i++) {
+                if (titles[i] != null) {
+                    bytes += 40 + titles[i].length() * 2L;
+                }
+            }
+            return bytes + deleted.size() / 8;
+        }
+    }
+}
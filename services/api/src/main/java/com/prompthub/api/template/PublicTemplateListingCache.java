@@ -0,0 +1,187 @@
+package com.prompthub.api.template;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prompthub.api.common.AfterCommit;
+import com.prompthub.api.common.PayloadCompressor;
+import com.prompthub.api.common.PrecompressedPayload;
+import com.prompthub.api.common.ServiceUnavailableException;
+import com.prompthub.api.profile.OwnerProfile;
+import com.prompthub.api.profile.OwnerProfileProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * GET /api/templates?filter=public 응답 스냅샷 캐시.
+ * - 모든 호출자에게 같은 결과이므로 직렬화한 본문과 미리 압축한 gzip 본문을 한 번만 만들어 둔다 (PayloadCompressor).
+ * - 공개 템플릿이 바뀌는 쓰기(생성, 수정, 삭제)는 커밋 후 스냅샷을 버린다 (invalidateAfterCommit).
+ *   버리기 전에 시작한 조회 결과는 저장하지 않는다 (generation 비교).
+ * - use_count(누적 대기분 포함)나 소유자 프로필만 바뀐 경우는 ttl이 지나야 반영된다.
+ *   ttl을 넘긴 스냅샷으로 응답하면서 백그라운드에서 한 번만 갱신한다 (WeeklyRankingCache와 같은 single-flight).
+ * 조회 결과는 template.public-listing.requests{result=hit|stale|miss}로 센다.
+ */
+@Component
+public class PublicTemplateListingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicTemplateListingCache.class);
+
+    private record Snapshot(PrecompressedPayload payload, long loadedAtNanos) {
+    }
+
+    private final TemplateMapper templateMapper;
+    private final UseCountAccumulator useCountAccumulator;
+    private final OwnerProfileProjection ownerProfileProjection;
+    private final ObjectMapper objectMapper;
+    private final PayloadCompressor payloadCompressor;
+    private final TaskExecutor taskExecutor;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    public PublicTemplateListingCache(TemplateMapper templateMapper,
+                                      UseCountAccumulator useCountAccumulator,
+                                      OwnerProfileProjection ownerProfileProjection,
+                                      ObjectMapper objectMapper,
+                                      PayloadCompressor payloadCompressor,
+                                      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${template.public-listing.ttl-ms:5000}") long ttlMs) {
+        this.templateMapper = templateMapper;
+        this.useCountAccumulator = useCountAccumulator;
+        this.ownerProfileProjection = ownerProfileProjection;
+        this.objectMapper = objectMapper;
+        this.payloadCompressor = payloadCompressor;
+        this.taskExecutor = taskExecutor;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    /**
+     * 공개 템플릿 전체 목록의 직렬화된 응답을 반환한다.
+     */
+    public PrecompressedPayload get() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            misses.increment();
+            current = awaitRefresh();
+        } else if (System.nanoTime() - current.loadedAtNanos() > ttlNanos) {
+            staleHits.increment();
+            refresh();
+        } else {
+            hits.increment();
+        }
+        return current.payload();
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 후 스냅샷을 버린다. 다음 조회는 새 목록을 기다린다.
+     */
+    public void invalidateAfterCommit() {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            snapshot = null;
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * 진행 중인 갱신이 있으면 그 future를, 없으면 새 갱신을 시작해 그 future를 반환한다.
+     */
+    private CompletableFuture<Snapshot> refresh() {
+        while (true) {
+            CompletableFuture<Snapshot> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Snapshot> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                try {
+                    taskExecutor.execute(() -> load(future));
+                } catch (RuntimeException e) {
+                    // 실행기가 작업을 거절하면 load가 돌지 않으므로 여기서 끝내야 다음 갱신이 가능하다
+                    log.warn("Failed to schedule public template listing refresh: {}", e.getMessage());
+                    inFlight.compareAndSet(future, null);
+                    future.completeExceptionally(
+                            new ServiceUnavailableException("Public template listing is temporarily unavailable", 1));
+                }
+                return future;
+            }
+        }
+    }
+
+    private Snapshot awaitRefresh() {
+        try {
+            return refresh().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void load(CompletableFuture<Snapshot> future) {
+        try {
+            long startedGeneration = generation.get();
+            List<Template> templates = templateMapper.findAll(null, "public");
+            Map<UUID, OwnerProfile> owners = ownerProfileProjection.getAll(
+                    templates.stream().map(Template::getOwnerId).toList());
+            List<TemplateDto.Response> items = templates.stream()
+                    .map(t -> TemplateDto.Response.from(t, useCountAccumulator.pending(t.getId()),
+                            owners.get(t.getOwnerId())))
+                    .toList();
+            Snapshot loaded = new Snapshot(payloadCompressor.compress(serialize(items)), System.nanoTime());
+            if (generation.get() == startedGeneration) {
+                snapshot = loaded;
+            }
+            // 조회 중 무효화된 경우에도 기다리던 호출자에게는 이 결과로 응답한다
+            future.complete(loaded);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh public template listing cache: {}", e.getMessage());
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private byte[] serialize(List<TemplateDto.Response> items) {
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("template.public-listing.requests")
+                .tag("result", result)
+                .description("Public template listing snapshot lookups")
+                .register(meterRegistry);
+    }
+}
@@ -21,11 +21,27 @@ public class Template {
     private String description;
     private boolean isPublic;
     private String storagePath;
+    // template_blobs.hash (null이면 storage_path의 기존 객체가 본문)
+    private String bodyHash;
     private int useCount;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 
-    // profiles 테이블 JOIN용 (목록 조회 시 포함)
-    private String ownerDisplayName;
-    private String ownerAvatarUrl;
+    /**
+     * 필드를 복사한 새 객체 (캐시된 엔티티를 공유하지 않기 위함).
+     */
+    public Template copy() {
+        Template copy = new Template();
+        copy.id = id;
+        copy.ownerId = ownerId;
+        copy.title = title;
+        copy.description = description;
+        copy.isPublic = isPublic;
+        copy.storagePath = storagePath;
+        copy.bodyHash = bodyHash;
+        copy.useCount = useCount;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
 }
@@ -0,0 +1,62 @@
+package com.prompthub.api.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prompthub.api.common.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * ID 기준 Template read-through 캐시 (templates 단건 조회 결과).
+ * - 캐시 미스 시에만 TemplateMapper.findById를 호출한다. 존재하지 않는 ID는 캐시하지 않는다.
+ * - 호출자가 받은 객체를 수정해도 캐시가 오염되지 않도록 항상 복사본을 반환한다.
+ * - insert/update/deleteById와 use_count flush 후에는 evict를 호출한다. 트랜잭션 안이면 커밋 후에 한 번 더 제거하여
+ *   커밋 전 다른 요청이 이전 값을 다시 적재하는 경우를 막는다.
+ * - 소유자 프로필은 담지 않는다 (응답을 만들 때 OwnerProfileProjection에서 채운다).
+ */
+@Component
+public class TemplateCache {
+
+    private final TemplateMapper templateMapper;
+    private final Cache<UUID, Template> cache;
+
+    public TemplateCache(TemplateMapper templateMapper,
+                         @Value("${template.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${template.cache.ttl-seconds:60}") long ttlSeconds,
+                         MeterRegistry meterRegistry) {
+        this.templateMapper = templateMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "templates");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", "templates")
+                .description("Hit ratio of the per-ID template cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 템플릿 단건 조회 (캐시 우선).
+     */
+    public Optional<Template> findById(UUID id) {
+        Template cached = cache.get(id, key -> templateMapper.findById(key).orElse(null));
+        return Optional.ofNullable(cached).map(Template::copy);
+    }
+
+    /**
+     * 템플릿을 캐시에서 제거한다 (즉시 + 커밋 후).
+     */
+    public void evict(UUID id) {
+        cache.invalidate(id);
+        AfterCommit.run(() -> cache.invalidate(id));
+    }
+}
@@ -0,0 +1,182 @@
+package com.prompthub.api.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prompthub.api.common.AccessDeniedException;
+import com.prompthub.api.common.ResourceNotFoundException;
+import com.prompthub.api.storage.TemplateBlobStore;
+import com.prompthub.api.storage.TemplateContentStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 템플릿 본문(Markdown) 조회.
+ * - 접근 권한은 메타데이터와 같은 규칙 (본인 소유 또는 공개).
+ * - body_hash가 있으면 content-addressed blob, 없으면 storage_path의 기존 객체를 본문으로 사용한다.
+ * - 공개 템플릿 본문 중 max-entry-bytes 이하는 byte 단위 가중치 LRU(Caffeine W-TinyLFU)에 경로 기준으로 보관한다.
+ *   blob 경로는 내용이 바뀌지 않으며, 기존 storage_path 객체는 Storage에 직접 업로드되므로 ttl로 만료된다.
+ * - 캐시되지 않은 본문은 저장소에서 응답 스트림으로 바로 전송한다.
+ */
+@Service
+public class TemplateContentService {
+
+    /**
+     * 조회된 본문. body가 null이면 store에서 전송해야 한다.
+     */
+    public record Content(String storagePath, TemplateContentStore.Metadata metadata, byte[] body) {
+    }
+
+    private record CachedBody(TemplateContentStore.Metadata metadata, byte[] body) {
+    }
+
+    private final TemplateMapper templateMapper;
+    private final TemplateCache templateCache;
+    private final TemplateContentStore contentStore;
+    private final TemplateBlobStore templateBlobStore;
+    // key: 저장 경로 (같은 blob을 공유하는 복제본끼리 캐시 항목도 공유)
+    private final Cache<String, CachedBody> bodies;
+    private final long maxEntryBytes;
+    private final int maxBodyBytes;
+
+    public TemplateContentService(TemplateMapper templateMapper,
+                                  TemplateCache templateCache,
+                                  TemplateContentStore contentStore,
+                                  TemplateBlobStore templateBlobStore,
+                                  @Value("${template.content.max-bytes:512000}") int maxBodyBytes,
+                                  @Value("${template.content.cache.maximum-weight-bytes:67108864}") long maximumWeightBytes,
+                                  @Value("${template.content.cache.max-entry-bytes:262144}") long maxEntryBytes,
+                                  @Value("${template.content.cache.ttl-seconds:300}") long ttlSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.templateMapper = templateMapper;
+        this.templateCache = templateCache;
+        this.contentStore = contentStore;
+        this.templateBlobStore = templateBlobStore;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxBodyBytes = maxBodyBytes;
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .weigher((String path, CachedBody cached) -> cached.body().length)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "template.content");
+    }
+
+    /**
+     * 본문 메타데이터(ETag/Last-Modified)와, 캐시 대상이면 본문 bytes를 반환한다.
+     */
+    public Content getContent(UUID id, UUID currentUserId) throws IOException {
+        Template template = templateCache.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.of("Template", id));
+        if (!template.isPublic() && !template.getOwnerId().equals(currentUserId)) {
+            throw new AccessDeniedException("Access denied: template is private");
+        }
+        String storagePath = contentPath(template);
+
+        if (!template.isPublic()) {
+            TemplateContentStore.Metadata metadata = stat(id, storagePath);
+            return new Content(storagePath, metadata, null);
+        }
+
+        CachedBody cached = bodies.getIfPresent(storagePath);
+        if (cached != null) {
+            return new Content(storagePath, cached.metadata(), cached.body());
+        }
+        TemplateContentStore.Metadata metadata = stat(id, storagePath);
+        if (metadata.size() > maxEntryBytes) {
+            return new Content(storagePath, metadata, null);
+        }
+        byte[] body = contentStore.read(storagePath);
+        bodies.put(storagePath, new CachedBody(metadata, body));
+        return new Content(storagePath, metadata, body);
+    }
+
+    /**
+     * 본문을 교체한다 (본인 소유만 허용).
+     * 같은 내용의 blob이 있으면 재사용하고, 복제본이 부모와 공유하던 blob은 이 시점에 분리된다 (copy-on-write).
+     *
+     * @return 새 본문의 ETag (본문 SHA-256)
+     */
+    @Transactional
+    public String updateContent(UUID id, UUID currentUserId, byte[] body) throws IOException {
+        if (body.length > maxBodyBytes) {
+            throw new IllegalArgumentException("content must be " + maxBodyBytes + " bytes or less");
+        }
+        Template template = templateCache.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.of("Template", id));
+        if (!template.getOwnerId().equals(currentUserId)) {
+            throw AccessDeniedException.notOwner();
+        }
+
+        String hash = templateBlobStore.store(body);
+        if (!hash.equals(template.getBodyHash())) {
+            templateMapper.updateBodyHash(id, hash, true);
+            templateCache.evict(id);
+        }
+        return "\"" + hash + "\"";
+    }
+
+    /**
+     * 템플릿 본문의 blob hash를 반환한다. storage_path의 기존 객체만 있는 템플릿은
+     * 이 시점에 blob으로 옮기고 body_hash를 설정한다 (updated_at 유지). 본문이 없으면 null.
+     * 호출자의 트랜잭션 안에서 실행되어야 한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String ensureBlob(Template template) {
+        if (template.getBodyHash() != null) {
+            return template.getBodyHash();
+        }
+        try {
+            if (contentStore.stat(template.getStoragePath()).isEmpty()) {
+                return null;
+            }
+            String hash = templateBlobStore.store(contentStore.read(template.getStoragePath()));
+            templateMapper.updateBodyHash(template.getId(), hash, false);
+            templateCache.evict(template.getId());
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 로컬 저장소 파일 경로 (sendfile 전송용).
+     */
+    public Optional<Path> localFile(Content content) {
+        return contentStore.localFile(content.storagePath());
+    }
+
+    /**
+     * 본문을 out에 쓴다 (캐시된 bytes 또는 저장소에서 직접 복사).
+     */
+    public void transfer(Content content, OutputStream out) throws IOException {
+        if (content.body() != null) {
+            out.write(content.body());
+        } else {
+            contentStore.copyTo(content.storagePath(), out);
+        }
+    }
+
+    private static String contentPath(Template template) {
+        return template.getBodyHash() != null
+                ? TemplateBlobStore.pathOf(template.getBodyHash())
+                : template.getStoragePath();
+    }
+
+    private TemplateContentStore.Metadata stat(UUID id, String storagePath) throws IOException {
+        return contentStore.stat(storagePath)
+                .orElseThrow(() -> ResourceNotFoundException.of("Template content", id));
+    }
+}
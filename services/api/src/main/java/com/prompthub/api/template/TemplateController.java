@@ -1,13 +1,24 @@
 package com.prompthub.api.template;
 
 import com.prompthub.api.auth.UserPrincipal;
+import com.prompthub.api.storage.TemplateContentStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -18,25 +29,108 @@ import java.util.UUID;
 @RequestMapping("/api/templates")
 public class TemplateController {
 
+    private static final String MARKDOWN_UTF8 = "text/markdown;charset=UTF-8";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final TemplateService templateService;
+    private final TemplateContentService templateContentService;
+    private final PublicTemplateListingCache publicTemplateListingCache;
 
-    public TemplateController(TemplateService templateService) {
+    public TemplateController(TemplateService templateService,
+                              TemplateContentService templateContentService,
+                              PublicTemplateListingCache publicTemplateListingCache) {
         this.templateService = templateService;
+        this.templateContentService = templateContentService;
+        this.publicTemplateListingCache = publicTemplateListingCache;
     }
 
     /**
      * GET /api/templates?filter=all|mine|public
-     * 내 템플릿 + 공개 템플릿 목록 반환.
+     * 내 템플릿 + 공개 템플릿 목록 반환 (전체, 페이지네이션 없음).
+     * filter=public은 모든 사용자에게 같으므로 캐시된 직렬화 결과(gzip 허용 시 미리 압축한 본문)로 응답하며,
+     * If-None-Match가 ETag와 같으면 304로 응답한다.
      */
     @GetMapping
-    public ResponseEntity<List<TemplateDto.Response>> getTemplates(
+    public ResponseEntity<?> getTemplates(
             @RequestParam(value = "filter", defaultValue = "all") String filter,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
             @AuthenticationPrincipal UserPrincipal principal) {
 
+        if ("public".equals(templateService.normalizeFilter(filter))) {
+            return publicTemplateListingCache.get()
+                    .toResponse(acceptEncoding, CacheControl.noCache().cachePrivate());
+        }
         List<TemplateDto.Response> result = templateService.getTemplates(principal.getUserId(), filter);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/templates?filter=all|mine|public&limit=20[&cursor=...]
+     * keyset 페이지 조회. 응답의 next_cursor를 다음 요청의 cursor로 넘긴다.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<TemplateDto.PageResponse> getTemplatePage(
+            @RequestParam(value = "filter", defaultValue = "all") String filter,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("limit") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        TemplateDto.PageResponse result =
+                templateService.getTemplatePage(principal.getUserId(), filter, cursor, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * GET /api/templates?filter=all|mine|public&stream=true
+     * 전체 목록을 JSON 배열로 스트리밍 (DB Cursor -> 응답 스트림, 중간 List 없음).
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamTemplates(
+            @RequestParam(value = "filter", defaultValue = "all") String filter,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        // 응답이 커밋되기 전에 filter 오류를 400으로 돌려주기 위해 먼저 검증
+        String normalizedFilter = templateService.normalizeFilter(filter);
+        UUID currentUserId = principal.getUserId();
+        StreamingResponseBody body = out -> templateService.streamTemplates(currentUserId, normalizedFilter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * GET /api/templates/search?q=...&filter=all|mine|public&limit=20[&cursor=...]
+     * 제목/설명 검색 (관련도 + use_count 순). 응답의 next_cursor를 다음 요청의 cursor로 넘긴다.
+     * 검색 cursor는 불투명 값이 아니라 다음 결과의 offset(0 이상의 정수)이다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TemplateDto.PageResponse> searchTemplates(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "filter", defaultValue = "all") String filter,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        TemplateDto.PageResponse result =
+                templateService.searchTemplates(principal.getUserId(), query, filter, cursor, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * GET /api/templates/suggest?q=...&limit=10
+     * 공개 템플릿 자동완성 (in-memory 색인, 단어 prefix 일치).
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TemplateDto.Suggestion>> suggestTemplates(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(templateService.suggestTemplates(query, limit));
+    }
+
     /**
      * POST /api/templates
      * 새 템플릿 생성.
@@ -50,6 +144,32 @@ public class TemplateController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * POST /api/templates/batch
+     * 템플릿 일괄 생성 (최대 TemplateDto.MAX_BATCH_ITEMS건). 모든 항목을 먼저 검증한 뒤 한 번에 저장한다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<TemplateDto.BatchResponse<TemplateDto.Response>> createTemplates(
+            @Valid @RequestBody TemplateDto.BatchCreateRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        TemplateDto.BatchResponse<TemplateDto.Response> response =
+                templateService.createTemplates(request.getItems(), principal.getUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * DELETE /api/templates/batch
+     * 템플릿 일괄 삭제. 항목별 결과(deleted / not_found / forbidden)를 반환한다.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<TemplateDto.BatchResponse<TemplateDto.BatchDeleteResult>> deleteTemplates(
+            @Valid @RequestBody TemplateDto.BatchDeleteRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        return ResponseEntity.ok(templateService.deleteTemplates(request.getIds(), principal.getUserId()));
+    }
+
     /**
      * GET /api/templates/{id}
      * 템플릿 상세 조회 (본인 소유 또는 공개 템플릿만 허용).
@@ -63,6 +183,58 @@ public class TemplateController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/templates/{id}/content
+     * 템플릿 본문(Markdown) 전송 (본인 소유 또는 공개 템플릿만 허용).
+     * If-None-Match / If-Modified-Since가 현재 본문과 일치하면 304로 응답한다.
+     * 캐시된 공개 본문은 메모리에서, 그 외 로컬 저장소 파일은 Tomcat sendfile(불가 시 FileChannel.transferTo)로,
+     * 원격 저장소는 스트림 복사로 전송한다.
+     */
+    @GetMapping("/{id}/content")
+    public void getTemplateContent(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        TemplateContentService.Content content = templateContentService.getContent(id, principal.getUserId());
+        TemplateContentStore.Metadata metadata = content.metadata();
+        // ETag / Last-Modified 헤더 설정 및 조건부 요청 판정 (일치 시 304 설정)
+        if (new ServletWebRequest(request, response)
+                .checkNotModified(metadata.etag(), metadata.lastModified().toEpochMilli())) {
+            return;
+        }
+
+        response.setContentType(MARKDOWN_UTF8);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.setContentLengthLong(metadata.size());
+
+        Optional<Path> file = content.body() == null ? templateContentService.localFile(content) : Optional.empty();
+        if (file.isPresent() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문 대신 파일 정보를 넘기면 Tomcat이 커넥터에서 sendfile로 전송한다
+            request.setAttribute(SENDFILE_FILENAME, file.get().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, metadata.size());
+            return;
+        }
+        templateContentService.transfer(content, response.getOutputStream());
+    }
+
+    /**
+     * PUT /api/templates/{id}/content
+     * 템플릿 본문 교체 (본인 소유만 허용). 요청 본문은 Markdown 원문이며,
+     * 복제 후 처음 수정하는 경우 이 시점에 부모와 공유하던 본문에서 분리된다.
+     */
+    @PutMapping(value = "/{id}/content", consumes = {"text/markdown", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<Void> updateTemplateContent(
+            @PathVariable UUID id,
+            @RequestBody byte[] body,
+            @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+
+        String etag = templateContentService.updateContent(id, principal.getUserId(), body);
+        return ResponseEntity.noContent().eTag(etag).build();
+    }
+
     /**
      * PUT /api/templates/{id}
      * 템플릿 수정 (본인 소유만 허용).
@@ -0,0 +1,44 @@
+package com.prompthub.api.template;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 템플릿 목록 keyset 페이지네이션 커서.
+ * 마지막으로 내려준 행의 (updated_at, id)를 담으며, 클라이언트에는 불투명한 base64url 문자열로 전달한다.
+ */
+public record TemplateCursor(OffsetDateTime updatedAt, UUID id) {
+
+    public static TemplateCursor of(Template template) {
+        return new TemplateCursor(template.getUpdatedAt(), template.getId());
+    }
+
+    /**
+     * "epochSecond.nano.uuid" 형태를 base64url(패딩 없음)로 인코딩한다.
+     */
+    public String encode() {
+        Instant instant = updatedAt.toInstant();
+        String raw = instant.getEpochSecond() + "." + instant.getNano() + "." + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 클라이언트가 보낸 커서 문자열을 해석한다.
+     *
+     * @throws IllegalArgumentException 형식이 잘못된 경우 (400)
+     */
+    public static TemplateCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+            String[] parts = raw.split("\\.", 3);
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new TemplateCursor(OffsetDateTime.ofInstant(instant, ZoneOffset.UTC), UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
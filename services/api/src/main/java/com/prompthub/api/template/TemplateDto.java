@@ -1,12 +1,17 @@
 package com.prompthub.api.template;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.prompthub.api.profile.OwnerProfile;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -14,6 +19,9 @@ import java.util.UUID;
  */
 public class TemplateDto {
 
+    /** 배치 요청 한 건에 담을 수 있는 최대 항목 수 */
+    public static final int MAX_BATCH_ITEMS = 500;
+
     /**
      * 템플릿 생성 요청 DTO.
      * storage_path는 클라이언트에서 받지 않고 서버에서 강제 생성한다.
@@ -50,8 +58,68 @@ public class TemplateDto {
         private boolean isPublic;
     }
 
+    /**
+     * 템플릿 일괄 생성 요청 DTO.
+     * 항목 하나라도 검증에 실패하면 전체 요청이 400으로 거부된다 (부분 생성 없음).
+     */
+    @Getter
+    public static class BatchCreateRequest {
+
+        @NotEmpty(message = "items must not be empty")
+        @Size(max = MAX_BATCH_ITEMS, message = "items must contain " + MAX_BATCH_ITEMS + " entries or less")
+        private List<@Valid @NotNull(message = "item must not be null") CreateRequest> items;
+    }
+
+    /**
+     * 템플릿 일괄 삭제 요청 DTO.
+     */
+    @Getter
+    public static class BatchDeleteRequest {
+
+        @NotEmpty(message = "ids must not be empty")
+        @Size(max = MAX_BATCH_ITEMS, message = "ids must contain " + MAX_BATCH_ITEMS + " entries or less")
+        private List<@NotNull(message = "id must not be null") UUID> ids;
+    }
+
+    /**
+     * 일괄 삭제 항목별 결과 DTO.
+     * status: deleted | not_found | forbidden
+     */
+    @Getter
+    @Builder
+    public static class BatchDeleteResult {
+
+        private UUID id;
+        private String status;
+    }
+
+    /**
+     * 일괄 처리 응답 DTO. items는 요청 순서를 따른다.
+     */
+    @Getter
+    @Builder
+    public static class BatchResponse<T> {
+
+        private List<T> items;
+    }
+
+    /**
+     * 자동완성 응답 DTO (공개 템플릿 in-memory 색인 결과).
+     */
+    @Getter
+    @Builder
+    public static class Suggestion {
+
+        private UUID id;
+        private String title;
+
+        @JsonProperty("use_count")
+        private int useCount;
+    }
+
     /**
      * 템플릿 응답 DTO.
+     * JSON 출력은 TemplateResponseSerializer가 담당한다 (필드를 추가하면 함께 수정).
      */
     @Getter
     @Builder
@@ -88,8 +156,10 @@ public class TemplateDto {
 
         /**
          * Template 도메인 모델을 Response DTO로 변환한다.
+         * use_count는 DB 값에 아직 반영되지 않은 증분(pendingUseCount)을 더한 값이고,
+         * 소유자 정보는 OwnerProfileProjection에서 조회한 owner로 채운다.
          */
-        public static Response from(Template template) {
+        public static Response from(Template template, long pendingUseCount, OwnerProfile owner) {
             return Response.builder()
                     .id(template.getId())
                     .ownerId(template.getOwnerId())
@@ -97,12 +167,26 @@ public class TemplateDto {
                     .description(template.getDescription())
                     .isPublic(template.isPublic())
                     .storagePath(template.getStoragePath())
-                    .useCount(template.getUseCount())
+                    .useCount((int) (template.getUseCount() + pendingUseCount))
                     .createdAt(template.getCreatedAt())
                     .updatedAt(template.getUpdatedAt())
-                    .ownerDisplayName(template.getOwnerDisplayName())
-                    .ownerAvatarUrl(template.getOwnerAvatarUrl())
+                    .ownerDisplayName(owner.displayName())
+                    .ownerAvatarUrl(owner.avatarUrl())
                     .build();
         }
     }
+
+    /**
+     * 템플릿 목록 페이지 응답 DTO (keyset 페이지네이션).
+     * next_cursor가 null이면 마지막 페이지다.
+     */
+    @Getter
+    @Builder
+    public static class PageResponse {
+
+        private List<Response> items;
+
+        @JsonProperty("next_cursor")
+        private String nextCursor;
+    }
 }
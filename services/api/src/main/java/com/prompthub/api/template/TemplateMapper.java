@@ -2,8 +2,11 @@ package com.prompthub.api.template;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,19 +27,69 @@ public interface TemplateMapper {
                            @Param("filter") String filter);
 
     /**
-     * 템플릿 단건 조회 (profiles JOIN 포함).
+     * 템플릿 목록 keyset 페이지 조회.
+     * (updated_at, id) 내림차순으로 after 커서 다음 행부터 최대 limit건을 반환한다.
+     *
+     * @param afterUpdatedAt 이전 페이지 마지막 행의 updated_at (첫 페이지는 null)
+     * @param afterId        이전 페이지 마지막 행의 id (첫 페이지는 null)
+     */
+    List<Template> findPage(@Param("currentUserId") UUID currentUserId,
+                            @Param("filter") String filter,
+                            @Param("afterUpdatedAt") OffsetDateTime afterUpdatedAt,
+                            @Param("afterId") UUID afterId,
+                            @Param("limit") int limit);
+
+    /**
+     * 템플릿 목록을 MyBatis Cursor로 조회 (스트리밍 응답용, 트랜잭션 안에서만 사용).
+     */
+    Cursor<Template> streamAll(@Param("currentUserId") UUID currentUserId,
+                               @Param("filter") String filter);
+
+    /**
+     * 제목/설명 검색. 관련도와 use_count를 함께 반영한 점수 내림차순.
+     *
+     * @param query            검색어 (websearch_to_tsquery 문법 + trigram 부분 일치)
+     * @param maxCandidates    페이지를 나눌 최대 후보 수 (점수 상위 N건만 유지해 정렬 메모리를 제한)
+     * @param popularityWeight ln(1 + use_count)에 곱하는 가중치
+     */
+    List<Template> search(@Param("currentUserId") UUID currentUserId,
+                          @Param("filter") String filter,
+                          @Param("query") String query,
+                          @Param("maxCandidates") int maxCandidates,
+                          @Param("popularityWeight") double popularityWeight,
+                          @Param("offset") int offset,
+                          @Param("limit") int limit);
+
+    /**
+     * 템플릿 단건 조회.
      */
     Optional<Template> findById(@Param("id") UUID id);
 
     /**
-     * 템플릿 생성.
+     * 템플릿 생성 후 저장된 행을 반환한다 (재조회 없음).
      */
-    void insert(Template template);
+    Template insertReturning(Template template);
 
     /**
-     * 템플릿 수정.
+     * 템플릿 여러 건을 한 문장으로 생성하고 저장된 행을 반환한다.
+     * 반환 순서는 입력 순서와 다를 수 있다.
      */
-    int update(Template template);
+    List<Template> insertBatchReturning(@Param("templates") List<Template> templates);
+
+    /**
+     * 템플릿 수정 후 저장된 행을 반환한다 (재조회 없음).
+     * id/owner_id가 일치하는 행이 없으면 empty.
+     */
+    Optional<Template> updateReturning(Template template);
+
+    /**
+     * 본문 blob hash를 설정한다.
+     *
+     * @param touch true이면 updated_at도 갱신 (사용자 편집), false이면 유지 (기존 본문 이관)
+     */
+    int updateBodyHash(@Param("id") UUID id,
+                       @Param("bodyHash") String bodyHash,
+                       @Param("touch") boolean touch);
 
     /**
      * 템플릿 삭제.
@@ -44,7 +97,20 @@ public interface TemplateMapper {
     int deleteById(@Param("id") UUID id, @Param("ownerId") UUID ownerId);
 
     /**
-     * use_count 증가 (usage event 기록 시 호출).
+     * ids 중 존재하는 템플릿의 id/owner_id/is_public 조회 (나머지 컬럼은 null).
+     */
+    List<Template> findOwnersByIds(@Param("ids") UUID[] ids);
+
+    /**
+     * ids 중 ownerId 소유 템플릿을 삭제하고 삭제된 id 목록을 반환한다.
+     */
+    List<UUID> deleteBatchReturning(@Param("ownerId") UUID ownerId, @Param("ids") UUID[] ids);
+
+    /**
+     * 템플릿별로 미리 집계된 use_count 증분을 한 번의 UPDATE로 반영한다.
+     * updated_at은 변경하지 않는다 (UseCountAccumulator flush 시 호출).
+     *
+     * @param deltas templateId -> 증가량
      */
-    int incrementUseCount(@Param("id") UUID id);
+    int addUseCounts(@Param("deltas") Map<UUID, Long> deltas);
 }
@@ -0,0 +1,73 @@
+package com.prompthub.api.template;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.prompthub.api.common.JsonWriters;
+import com.prompthub.api.common.UUIDStringCache;
+
+import java.io.IOException;
+
+/**
+ * TemplateDto.Response 전용 JsonSerializer (JacksonConfig에서 등록).
+ * 필드 이름은 미리 인코딩한 SerializedString으로, owner_id는 UUIDStringCache로 쓰고
+ * id/날짜는 응답당 scratch 버퍼 하나로 쓴다. 필드 순서와 값 형식은 기존 reflection 직렬화와 같다.
+ * TemplateDto.Response에 필드를 추가하면 여기에도 추가해야 한다.
+ */
+public class TemplateResponseSerializer extends StdSerializer<TemplateDto.Response> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString OWNER_ID = new SerializedString("owner_id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString IS_PUBLIC = new SerializedString("is_public");
+    private static final SerializableString STORAGE_PATH = new SerializedString("storage_path");
+    private static final SerializableString USE_COUNT = new SerializedString("use_count");
+    private static final SerializableString CREATED_AT = new SerializedString("created_at");
+    private static final SerializableString UPDATED_AT = new SerializedString("updated_at");
+    private static final SerializableString OWNER_DISPLAY_NAME = new SerializedString("owner_display_name");
+    private static final SerializableString OWNER_AVATAR_URL = new SerializedString("owner_avatar_url");
+
+    private final UUIDStringCache uuidStringCache;
+
+    public TemplateResponseSerializer(UUIDStringCache uuidStringCache) {
+        super(TemplateDto.Response.class);
+        this.uuidStringCache = uuidStringCache;
+    }
+
+    @Override
+    public void serialize(TemplateDto.Response value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        char[] scratch = new char[JsonWriters.SCRATCH_LENGTH];
+        generator.writeStartObject(value);
+        generator.writeFieldName(ID);
+        JsonWriters.writeUuid(generator, value.getId(), scratch);
+        generator.writeFieldName(OWNER_ID);
+        if (value.getOwnerId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(uuidStringCache.get(value.getOwnerId()));
+        }
+        generator.writeFieldName(TITLE);
+        JsonWriters.writeString(generator, value.getTitle());
+        generator.writeFieldName(DESCRIPTION);
+        JsonWriters.writeString(generator, value.getDescription());
+        generator.writeFieldName(IS_PUBLIC);
+        generator.writeBoolean(value.isPublic());
+        generator.writeFieldName(STORAGE_PATH);
+        JsonWriters.writeString(generator, value.getStoragePath());
+        generator.writeFieldName(USE_COUNT);
+        generator.writeNumber(value.getUseCount());
+        generator.writeFieldName(CREATED_AT);
+        JsonWriters.writeDateTime(generator, value.getCreatedAt(), scratch);
+        generator.writeFieldName(UPDATED_AT);
+        JsonWriters.writeDateTime(generator, value.getUpdatedAt(), scratch);
+        generator.writeFieldName(OWNER_DISPLAY_NAME);
+        JsonWriters.writeString(generator, value.getOwnerDisplayName());
+        generator.writeFieldName(OWNER_AVATAR_URL);
+        JsonWriters.writeString(generator, value.getOwnerAvatarUrl());
+        generator.writeEndObject();
+    }
+}
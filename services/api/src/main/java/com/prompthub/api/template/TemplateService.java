@@ -1,27 +1,83 @@
 package com.prompthub.api.template;
 
-import com.prompthub.api.auth.UserPrincipal;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.prompthub.api.common.AccessDeniedException;
 import com.prompthub.api.common.ResourceNotFoundException;
+import com.prompthub.api.profile.OwnerProfile;
+import com.prompthub.api.profile.OwnerProfileProjection;
+import io.micrometer.core.annotation.Timed;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Template 비즈니스 로직.
+ * public 메서드 실행 시간은 service.method 타이머로 기록된다 (MetricsConfig).
  */
 @Service
+@Timed("service.method")
 @Transactional(readOnly = true)
 public class TemplateService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_SUGGEST_SIZE = 20;
+    // 스트리밍 목록에서 소유자 프로필을 한 번에 조회하는 행 수 (mybatis default-fetch-size와 같게)
+    private static final int STREAM_CHUNK_SIZE = 100;
+
     private final TemplateMapper templateMapper;
+    private final TemplateCache templateCache;
+    private final PublicTemplateIndex publicTemplateIndex;
+    private final PublicTemplateListingCache publicTemplateListingCache;
+    private final TemplateContentService templateContentService;
+    private final UseCountAccumulator useCountAccumulator;
+    private final OwnerProfileProjection ownerProfileProjection;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter responseWriter;
+    private final int searchMaxCandidates;
+    private final double searchPopularityWeight;
 
-    public TemplateService(TemplateMapper templateMapper) {
+    public TemplateService(TemplateMapper templateMapper,
+                           TemplateCache templateCache,
+                           PublicTemplateIndex publicTemplateIndex,
+                           PublicTemplateListingCache publicTemplateListingCache,
+                           TemplateContentService templateContentService,
+                           UseCountAccumulator useCountAccumulator,
+                           OwnerProfileProjection ownerProfileProjection,
+                           ObjectMapper objectMapper,
+                           @Value("${template.search.max-candidates:1000}") int searchMaxCandidates,
+                           @Value("${template.search.popularity-weight:0.1}") double searchPopularityWeight) {
         this.templateMapper = templateMapper;
+        this.templateCache = templateCache;
+        this.publicTemplateIndex = publicTemplateIndex;
+        this.publicTemplateListingCache = publicTemplateListingCache;
+        this.templateContentService = templateContentService;
+        this.useCountAccumulator = useCountAccumulator;
+        this.ownerProfileProjection = ownerProfileProjection;
+        this.objectMapper = objectMapper;
+        // 요소마다 flush하지 않도록 (출력 버퍼가 찰 때만 내보냄)
+        this.responseWriter = objectMapper.writerFor(TemplateDto.Response.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.searchMaxCandidates = searchMaxCandidates;
+        this.searchPopularityWeight = searchPopularityWeight;
     }
 
     /**
@@ -31,14 +87,132 @@ public class TemplateService {
      * filter=all (default) -> 본인 소유 + 공개 템플릿
      */
     public List<TemplateDto.Response> getTemplates(UUID currentUserId, String filter) {
+        String normalizedFilter = normalizeFilter(filter);
+        return toResponses(templateMapper.findAll(currentUserId, normalizedFilter));
+    }
+
+    /**
+     * 템플릿 목록 keyset 페이지 조회.
+     * (updated_at, id) 내림차순이며, 응답의 next_cursor를 다음 요청의 cursor로 넘기면 이어서 조회한다.
+     */
+    public TemplateDto.PageResponse getTemplatePage(UUID currentUserId, String filter, String cursor, int limit) {
+        String normalizedFilter = normalizeFilter(filter);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        TemplateCursor after = (cursor == null || cursor.isBlank()) ? null : TemplateCursor.decode(cursor);
+
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        List<Template> rows = templateMapper.findPage(currentUserId, normalizedFilter,
+                after != null ? after.updatedAt() : null,
+                after != null ? after.id() : null,
+                limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<Template> page = hasMore ? rows.subList(0, limit) : rows;
+        return TemplateDto.PageResponse.builder()
+                .items(toResponses(page))
+                .nextCursor(hasMore ? TemplateCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * 템플릿 제목/설명 검색 (목록 조회와 같은 filter 가시성 규칙).
+     * 관련도에 use_count 가중치를 곱한 점수 순이며, next_cursor는 다음 페이지의 offset(정수 문자열)이다.
+     * 점수 상위 max-candidates건까지만 페이지로 나누므로 그 이후 페이지는 비어 있다.
+     */
+    public TemplateDto.PageResponse searchTemplates(UUID currentUserId, String query, String filter,
+                                                    String cursor, int limit) {
+        String normalizedFilter = normalizeFilter(filter);
+        String normalizedQuery = query == null ? "" : query.strip();
+        if (normalizedQuery.isEmpty()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        if (normalizedQuery.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be " + MAX_QUERY_LENGTH + " characters or less");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        int offset = decodeOffset(cursor);
+        if (offset >= searchMaxCandidates) {
+            return TemplateDto.PageResponse.builder().items(List.of()).build();
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        List<Template> rows = templateMapper.search(currentUserId, normalizedFilter, normalizedQuery,
+                searchMaxCandidates, searchPopularityWeight, offset, limit + 1);
+
+        boolean hasMore = rows.size() > limit && offset + limit < searchMaxCandidates;
+        List<Template> page = rows.size() > limit ? rows.subList(0, limit) : rows;
+        return TemplateDto.PageResponse.builder()
+                .items(toResponses(page))
+                .nextCursor(hasMore ? Integer.toString(offset + limit) : null)
+                .build();
+    }
+
+    /**
+     * 공개 템플릿 자동완성. query의 모든 단어를 prefix로 포함하는 템플릿을 일치 품질 + use_count 순으로 반환한다.
+     * in-memory 색인이 준비되기 전(기동 직후)에는 DB 검색으로 대신한다.
+     */
+    public List<TemplateDto.Suggestion> suggestTemplates(String query, int limit) {
+        String normalizedQuery = query == null ? "" : query.strip();
+        if (normalizedQuery.isEmpty()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        if (normalizedQuery.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be " + MAX_QUERY_LENGTH + " characters or less");
+        }
+        if (limit < 1 || limit > MAX_SUGGEST_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGEST_SIZE);
+        }
+
+        if (!publicTemplateIndex.isReady()) {
+            return templateMapper.search(null, "public", normalizedQuery,
+                            searchMaxCandidates, searchPopularityWeight, 0, limit)
+                    .stream()
+                    .map(t -> toSuggestion(t.getId(), t.getTitle(), t.getUseCount()))
+                    .collect(Collectors.toList());
+        }
+        return publicTemplateIndex.search(normalizedQuery, limit)
+                .stream()
+                .map(hit -> toSuggestion(hit.id(), hit.title(), hit.useCount()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 템플릿 목록을 JSON 배열로 out에 바로 쓴다.
+     * MyBatis Cursor에서 읽은 행을 fetch-size 크기의 청크로 모아 직렬화하므로 전체 목록 List를 만들지 않는다.
+     * 소유자 프로필은 청크마다 projection.getAll로 한 번에 조회한다 (처음 보는 소유자만 DB 조회).
+     * Cursor는 트랜잭션(SqlSession)이 열려 있는 동안만 유효하다.
+     */
+    public void streamTemplates(UUID currentUserId, String filter, OutputStream out) throws IOException {
+        String normalizedFilter = normalizeFilter(filter);
+        try (Cursor<Template> cursor = templateMapper.streamAll(currentUserId, normalizedFilter);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)) {
+            generator.writeStartArray();
+            List<Template> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            for (Template template : cursor) {
+                chunk.add(template);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    writeChunk(generator, chunk);
+                }
+            }
+            writeChunk(generator, chunk);
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * filter 파라미터 정규화 및 검증.
+     */
+    String normalizeFilter(String filter) {
         String normalizedFilter = (filter == null || filter.isBlank()) ? "all" : filter.toLowerCase();
         if (!List.of("mine", "public", "all").contains(normalizedFilter)) {
             throw new IllegalArgumentException("filter must be one of: mine, public, all");
         }
-        return templateMapper.findAll(currentUserId, normalizedFilter)
-                .stream()
-                .map(TemplateDto.Response::from)
-                .collect(Collectors.toList());
+        return normalizedFilter;
     }
 
     /**
@@ -48,7 +222,7 @@ public class TemplateService {
     public TemplateDto.Response getTemplate(UUID id, UUID currentUserId) {
         Template template = findTemplateOrThrow(id);
         checkReadAccess(template, currentUserId);
-        return TemplateDto.Response.from(template);
+        return toResponse(template);
     }
 
     /**
@@ -70,10 +244,53 @@ public class TemplateService {
         template.setCreatedAt(now);
         template.setUpdatedAt(now);
 
-        templateMapper.insert(template);
+        // INSERT ... RETURNING 결과로 응답하므로 재조회하지 않는다
+        Template created = templateMapper.insertReturning(template);
+        templateCache.evict(created.getId());
+        publicTemplateIndex.upsertAfterCommit(created);
+        if (created.isPublic()) {
+            publicTemplateListingCache.invalidateAfterCommit();
+        }
+        return toResponse(created);
+    }
+
+    /**
+     * 템플릿 일괄 생성 (DTO 검증은 컨트롤러에서 전체 항목에 대해 먼저 끝난다).
+     * multi-row INSERT ... RETURNING 한 문장으로 저장하며, 응답은 요청 순서를 따른다.
+     */
+    @Transactional
+    public TemplateDto.BatchResponse<TemplateDto.Response> createTemplates(List<TemplateDto.CreateRequest> requests,
+                                                                           UUID currentUserId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Template> templates = new ArrayList<>(requests.size());
+        for (TemplateDto.CreateRequest request : requests) {
+            Template template = new Template();
+            template.setId(UUID.randomUUID());
+            template.setOwnerId(currentUserId);
+            template.setTitle(request.getTitle());
+            template.setDescription(request.getDescription());
+            template.setPublic(request.isPublic());
+            template.setStoragePath(currentUserId + "/" + template.getId() + ".md");
+            template.setUseCount(0);
+            template.setCreatedAt(now);
+            template.setUpdatedAt(now);
+            templates.add(template);
+        }
 
-        // 생성 후 DB에서 재조회해 profiles JOIN 정보도 포함
-        return TemplateDto.Response.from(findTemplateOrThrow(template.getId()));
+        // RETURNING 순서는 보장되지 않으므로 서버에서 만든 id로 요청 순서를 맞춘다
+        Map<UUID, Template> createdById = templateMapper.insertBatchReturning(templates).stream()
+                .collect(Collectors.toMap(Template::getId, Function.identity()));
+        List<TemplateDto.Response> items = new ArrayList<>(templates.size());
+        for (Template template : templates) {
+            Template created = createdById.get(template.getId());
+            templateCache.evict(created.getId());
+            publicTemplateIndex.upsertAfterCommit(created);
+            items.add(toResponse(created));
+        }
+        if (templates.stream().anyMatch(Template::isPublic)) {
+            publicTemplateListingCache.invalidateAfterCommit();
+        }
+        return TemplateDto.BatchResponse.<TemplateDto.Response>builder().items(items).build();
     }
 
     /**
@@ -84,6 +301,7 @@ public class TemplateService {
     public TemplateDto.Response updateTemplate(UUID id, TemplateDto.UpdateRequest request, UUID currentUserId) {
         Template template = findTemplateOrThrow(id);
         checkOwnership(template, currentUserId);
+        boolean wasPublic = template.isPublic();
 
         template.setTitle(request.getTitle());
         template.setDescription(request.getDescription());
@@ -91,8 +309,14 @@ public class TemplateService {
         // storage_path is immutable after creation (V-03)
         template.setUpdatedAt(OffsetDateTime.now());
 
-        templateMapper.update(template);
-        return TemplateDto.Response.from(findTemplateOrThrow(id));
+        Template updated = templateMapper.updateReturning(template)
+                .orElseThrow(() -> ResourceNotFoundException.of("Template", id));
+        templateCache.evict(id);
+        publicTemplateIndex.upsertAfterCommit(updated);
+        if (wasPublic || updated.isPublic()) {
+            publicTemplateListingCache.invalidateAfterCommit();
+        }
+        return toResponse(updated);
     }
 
     /**
@@ -105,14 +329,69 @@ public class TemplateService {
         checkOwnership(template, currentUserId);
 
         int affected = templateMapper.deleteById(id, currentUserId);
+        templateCache.evict(id);
+        publicTemplateIndex.removeAfterCommit(id);
+        if (template.isPublic()) {
+            publicTemplateListingCache.invalidateAfterCommit();
+        }
         if (affected == 0) {
             throw new ResourceNotFoundException("Template not found or already deleted: " + id);
         }
     }
 
+    /**
+     * 템플릿 일괄 삭제.
+     * 존재/소유 여부를 한 번에 조회한 뒤 본인 소유 템플릿만 한 문장으로 삭제하고,
+     * 항목별 결과(deleted / not_found / forbidden)를 요청 순서대로 반환한다. 중복 id는 한 번만 처리한다.
+     */
+    @Transactional
+    public TemplateDto.BatchResponse<TemplateDto.BatchDeleteResult> deleteTemplates(List<UUID> ids,
+                                                                                    UUID currentUserId) {
+        UUID[] distinctIds = new LinkedHashSet<>(ids).toArray(UUID[]::new);
+        Map<UUID, UUID> ownerById = new HashMap<>();
+        Set<UUID> publicIds = new HashSet<>();
+        for (Template template : templateMapper.findOwnersByIds(distinctIds)) {
+            ownerById.put(template.getId(), template.getOwnerId());
+            if (template.isPublic()) {
+                publicIds.add(template.getId());
+            }
+        }
+
+        UUID[] ownedIds = ownerById.entrySet().stream()
+                .filter(e -> e.getValue().equals(currentUserId))
+                .map(Map.Entry::getKey)
+                .toArray(UUID[]::new);
+        Set<UUID> deleted = ownedIds.length == 0
+                ? Set.of()
+                : new HashSet<>(templateMapper.deleteBatchReturning(currentUserId, ownedIds));
+        for (UUID id : deleted) {
+            templateCache.evict(id);
+            publicTemplateIndex.removeAfterCommit(id);
+        }
+        if (deleted.stream().anyMatch(publicIds::contains)) {
+            publicTemplateListingCache.invalidateAfterCommit();
+        }
+
+        List<TemplateDto.BatchDeleteResult> items = new ArrayList<>(distinctIds.length);
+        for (UUID id : distinctIds) {
+            String status;
+            if (deleted.contains(id)) {
+                status = "deleted";
+            } else if (ownerById.containsKey(id) && !ownerById.get(id).equals(currentUserId)) {
+                status = "forbidden";
+            } else {
+                // 조회와 삭제 사이에 다른 요청이 먼저 지운 경우 포함
+                status = "not_found";
+            }
+            items.add(TemplateDto.BatchDeleteResult.builder().id(id).status(status).build());
+        }
+        return TemplateDto.BatchResponse.<TemplateDto.BatchDeleteResult>builder().items(items).build();
+    }
+
     /**
      * 공개 템플릿 복제.
      * 공개 템플릿의 메타데이터를 복사해 현재 사용자 소유의 새 템플릿 생성.
+     * 본문은 부모와 같은 blob을 참조하므로 본문 크기와 무관하게 행 하나만 추가된다.
      */
     @Transactional
     public TemplateDto.Response cloneTemplate(UUID originalId, UUID currentUserId) {
@@ -128,23 +407,75 @@ public class TemplateService {
         cloned.setTitle(original.getTitle() + " (clone)");
         cloned.setDescription(original.getDescription());
         cloned.setPublic(false);
-        cloned.setStoragePath(currentUserId + "/clone_" + originalId + ".md");
+        cloned.setStoragePath(currentUserId + "/" + cloned.getId() + ".md");
+        // 본문은 복사하지 않고 부모의 blob을 공유한다 (첫 본문 수정 시 분리)
+        cloned.setBodyHash(templateContentService.ensureBlob(original));
         cloned.setUseCount(0);
 
         OffsetDateTime now = OffsetDateTime.now();
         cloned.setCreatedAt(now);
         cloned.setUpdatedAt(now);
 
-        templateMapper.insert(cloned);
-        return TemplateDto.Response.from(findTemplateOrThrow(cloned.getId()));
+        Template created = templateMapper.insertReturning(cloned);
+        templateCache.evict(created.getId());
+        return toResponse(created);
     }
 
     // -------------------------------------------------------------------------
     // Private helpers
     // -------------------------------------------------------------------------
 
+    private static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private TemplateDto.Suggestion toSuggestion(UUID id, String title, int persistedUseCount) {
+        return TemplateDto.Suggestion.builder()
+                .id(id)
+                .title(title)
+                .useCount((int) (persistedUseCount + useCountAccumulator.pending(id)))
+                .build();
+    }
+
+    private TemplateDto.Response toResponse(Template template) {
+        return TemplateDto.Response.from(template, useCountAccumulator.pending(template.getId()),
+                ownerProfileProjection.get(template.getOwnerId()));
+    }
+
+    /**
+     * 목록 응답 변환. projection에 없는 소유자 프로필은 한 번에 조회한다.
+     */
+    private List<TemplateDto.Response> toResponses(List<Template> templates) {
+        Map<UUID, OwnerProfile> owners = ownerProfileProjection.getAll(
+                templates.stream().map(Template::getOwnerId).toList());
+        List<TemplateDto.Response> responses = new ArrayList<>(templates.size());
+        for (Template template : templates) {
+            responses.add(TemplateDto.Response.from(template, useCountAccumulator.pending(template.getId()),
+                    owners.get(template.getOwnerId())));
+        }
+        return responses;
+    }
+
+    private void writeChunk(JsonGenerator generator, List<Template> chunk) throws IOException {
+        for (TemplateDto.Response response : toResponses(chunk)) {
+            responseWriter.writeValue(generator, response);
+        }
+        chunk.clear();
+    }
+
     private Template findTemplateOrThrow(UUID id) {
-        return templateMapper.findById(id)
+        return templateCache.findById(id)
                 .orElseThrow(() -> ResourceNotFoundException.of("Template", id));
     }
 
@@ -0,0 +1,111 @@
+package com.prompthub.api.template;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * templates.use_count 증분을 JVM 안에서 모아 주기적으로 한 번에 반영하는 누산기.
+ * - 템플릿별 LongAdder(striped counter)로 증가시키므로 인기 템플릿에도 lock 경합이 없다.
+ * - flush는 템플릿 수와 무관하게 UPDATE ... FROM (VALUES ...) 한 문장(청크 단위)으로 처리하며
+ *   updated_at은 건드리지 않는다 (목록 정렬 순서 유지).
+ * - flush가 커밋된 뒤에만 반영분을 차감하므로 DB 오류 시 다음 주기에 재시도된다.
+ * - 카운터 엔트리는 제거하지 않는다 (제거와 증가 사이의 경합으로 증분이 유실되는 것을 방지).
+ *   엔트리 수는 사용된 적 있는 템플릿 수로 제한된다.
+ */
+@Component
+public class UseCountAccumulator {
+
+    private static final Logger log = LoggerFactory.getLogger(UseCountAccumulator.class);
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final TemplateMapper templateMapper;
+    private final TemplateCache templateCache;
+    private final ConcurrentHashMap<UUID, LongAdder> counters = new ConcurrentHashMap<>();
+    // synchronized 대신 ReentrantLock: 가상 스레드에서 JDBC 대기 중 carrier 스레드 pinning 방지
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public UseCountAccumulator(TemplateMapper templateMapper, TemplateCache templateCache) {
+        this.templateMapper = templateMapper;
+        this.templateCache = templateCache;
+    }
+
+    /**
+     * use_count를 1 증가시킨다 (DB 반영은 다음 flush 시점).
+     */
+    public void increment(UUID templateId) {
+        add(templateId, 1L);
+    }
+
+    /**
+     * use_count를 delta만큼 증가시킨다 (DB 반영은 다음 flush 시점).
+     */
+    public void add(UUID templateId, long delta) {
+        counters.computeIfAbsent(templateId, id -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 증분.
+     */
+    public long pending(UUID templateId) {
+        LongAdder adder = counters.get(templateId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * 누적된 증분을 DB에 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${template.use-count.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<UUID, Long> chunk = new HashMap<>();
+            for (Map.Entry<UUID, LongAdder> entry : counters.entrySet()) {
+                long delta = entry.getValue().sum();
+                if (delta == 0) {
+                    continue;
+                }
+                chunk.put(entry.getKey(), delta);
+                if (chunk.size() >= FLUSH_CHUNK_SIZE) {
+                    flushChunk(chunk);
+                    chunk = new HashMap<>();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flushChunk(chunk);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushChunk(Map<UUID, Long> chunk) {
+        try {
+            templateMapper.addUseCounts(chunk);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush use_count deltas for {} templates: {}", chunk.size(), e.getMessage());
+            return;
+        }
+        // 커밋된 분량만 차감 (flush 도중 들어온 증가분은 그대로 남는다)
+        // 캐시된 엔티티는 반영 전 use_count를 담고 있으므로 차감 전에 제거한다 (다음 조회에서 다시 적재).
+        // 캐시 값을 직접 고치면 커밋 직후 다시 적재된 행에 증분이 한 번 더 더해질 수 있다.
+        chunk.forEach((id, delta) -> {
+            templateCache.evict(id);
+            counters.get(id).add(-delta);
+        });
+    }
+}
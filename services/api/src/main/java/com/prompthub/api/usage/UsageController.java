@@ -7,9 +7,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 /**
  * 템플릿 사용 이벤트 기록 REST 컨트롤러.
  */
@@ -18,21 +21,48 @@ import org.springframework.web.bind.annotation.RestController;
 public class UsageController {
 
     private final UsageService usageService;
+    private final UsageDeduplicator usageDeduplicator;
 
-    public UsageController(UsageService usageService) {
+    public UsageController(UsageService usageService, UsageDeduplicator usageDeduplicator) {
         this.usageService = usageService;
+        this.usageDeduplicator = usageDeduplicator;
     }
 
     /**
      * POST /api/usage
      * 템플릿 사용 이벤트를 기록하고 use_count를 증가시킨다.
+     * 비동기 적재 모드에서는 큐에 적재된 시점에 202 Accepted로 응답한다.
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재요청에 처음 응답을 그대로 돌려준다.
+     * - 중복 window 안의 같은 템플릿 재사용은 기존 이벤트와 함께 200 OK로 응답한다.
      */
     @PostMapping
     public ResponseEntity<UsageDto.Response> recordUsage(
             @Valid @RequestBody UsageDto.CreateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        UUID userId = principal.getUserId();
+        UsageService.Result result = idempotencyKey == null
+                ? usageService.recordUsage(request, userId)
+                : usageDeduplicator.idempotent(userId, idempotencyKey, request.getTemplateId(),
+                        () -> usageService.recordUsage(request, userId));
+
+        HttpStatus status = result.duplicate() ? HttpStatus.OK
+                : usageService.isAsyncIngestion() ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(result.response());
+    }
+
+    /**
+     * POST /api/usage/batch
+     * 오프라인에서 모아 둔 사용 이벤트를 한 번에 기록한다 (최대 UsageDto.MAX_BATCH_ITEMS건).
+     * 기록하지 못한 템플릿은 응답의 rejected에 사유와 함께 담긴다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<UsageDto.BatchResponse> recordUsageBatch(
+            @Valid @RequestBody UsageDto.BatchRequest request,
             @AuthenticationPrincipal UserPrincipal principal) {
 
-        UsageDto.Response response = usageService.recordUsage(request, principal.getUserId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        UsageDto.BatchResponse response = usageService.recordUsageBatch(request.getItems(), principal.getUserId());
+        return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,208 @@
+package com.prompthub.api.usage;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * usage_events 일괄 기록기 (COPY ... FROM STDIN (FORMAT binary)).
+ * - pgjdbc CopyManager로 이벤트를 binary tuple로 직렬화해 스트리밍한다.
+ *   multi-row INSERT와 달리 SQL 파싱, bind 파라미터, 행별 텍스트 변환이 없다.
+ * - 직렬화 버퍼는 풀에서 꺼내 재사용하므로 정상 상태에서는 이벤트 수와 무관하게 버퍼 할당이 없다.
+ * - Spring 트랜잭션 안에서 호출되면 같은 커넥션(DataSourceUtils)을 사용하여 함께 커밋/롤백된다.
+ * - 기동 시 빈 COPY를 한 번 실행해 사용 가능 여부(PostgreSQL 드라이버, RLS 우회 권한)를 확인한다.
+ *   불가능하거나 usage.ingestion.copy.enabled=false 이면 UsageMapper.insertBatch로 대체한다.
+ */
+@Component
+public class UsageCopyWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(UsageCopyWriter.class);
+
+    private static final String COPY_SQL =
+            "COPY usage_events (id, template_id, user_id, used_at) FROM STDIN (FORMAT binary)";
+
+    /** binary COPY 헤더: signature(11) + flags(4) + header extension length(4) */
+    private static final byte[] HEADER = {
+            'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0,
+            0, 0, 0, 0
+    };
+    private static final short FIELD_COUNT = 4;
+    private static final short TRAILER = -1;
+    /** tuple 한 개 크기: field count(2) + uuid 3개 (4 + 16) + timestamptz (4 + 8) */
+    private static final int ROW_BYTES = 2 + 3 * (4 + 16) + (4 + 8);
+    /** PostgreSQL timestamp 기준 시각 2000-01-01T00:00:00Z 의 Unix epoch 초 */
+    private static final long PG_EPOCH_SECONDS = 946_684_800L;
+    /** 대체 경로 multi-row INSERT 문장당 최대 행 수 (4 bind x 5000 = 20000 < 65535) */
+    private static final int FALLBACK_CHUNK_SIZE = 5000;
+
+    private final DataSource dataSource;
+    private final UsageMapper usageMapper;
+    private final boolean enabled;
+    private final int bufferBytes;
+    private final BlockingQueue<ByteBuffer> bufferPool;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    private volatile boolean copyAvailable;
+
+    public UsageCopyWriter(DataSource dataSource,
+                           UsageMapper usageMapper,
+                           @Value("${usage.ingestion.copy.enabled:true}") boolean enabled,
+                           @Value("${usage.ingestion.copy.buffer-bytes:65536}") int bufferBytes,
+                           @Value("${usage.ingestion.copy.buffer-pool-size:8}") int bufferPoolSize) {
+        if (bufferBytes < HEADER.length + ROW_BYTES + Short.BYTES) {
+            throw new IllegalArgumentException("usage.ingestion.copy.buffer-bytes is too small");
+        }
+        this.dataSource = dataSource;
+        this.usageMapper = usageMapper;
+        this.enabled = enabled;
+        this.bufferBytes = bufferBytes;
+        this.bufferPool = new ArrayBlockingQueue<>(bufferPoolSize);
+    }
+
+    /**
+     * COPY 경로 사용 여부 (false이면 multi-row INSERT로 기록한다).
+     */
+    public boolean isCopyAvailable() {
+        return copyAvailable;
+    }
+
+    /**
+     * 빈 binary COPY를 롤백되는 트랜잭션에서 실행해 COPY 사용 가능 여부를 확인한다.
+     * RLS가 걸린 테이블은 소유자/BYPASSRLS 권한이 없으면 COPY FROM이 거부된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void probe() {
+        if (!enabled) {
+            return;
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                copy(conn, List.of());
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(autoCommit);
+            }
+            copyAvailable = true;
+            log.info("usage_events writes use binary COPY");
+        } catch (SQLException e) {
+            log.warn("Binary COPY into usage_events is unavailable, using multi-row INSERT: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 이벤트를 기록하고 기록한 행 수를 반환한다.
+     */
+    public int write(List<UsageEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        if (!copyAvailable) {
+            int inserted = 0;
+            for (int from = 0; from < events.size(); from += FALLBACK_CHUNK_SIZE) {
+                inserted += usageMapper.insertBatch(
+                        events.subList(from, Math.min(from + FALLBACK_CHUNK_SIZE, events.size())));
+            }
+            return inserted;
+        }
+
+        Connection conn = DataSourceUtils.getConnection(dataSource);
+        try {
+            return (int) copy(conn, events);
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("COPY usage_events", COPY_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(conn, dataSource);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private long copy(Connection conn, List<UsageEvent> events) throws SQLException {
+        CopyIn copyIn = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        ByteBuffer buffer = acquireBuffer();
+        try {
+            buffer.put(HEADER);
+            for (UsageEvent event : events) {
+                if (buffer.remaining() < ROW_BYTES) {
+                    drain(copyIn, buffer);
+                }
+                buffer.putShort(FIELD_COUNT);
+                putUuid(buffer, event.getId());
+                putUuid(buffer, event.getTemplateId());
+                putUuid(buffer, event.getUserId());
+                buffer.putInt(Long.BYTES).putLong(toPostgresMicros(event.getUsedAt()));
+            }
+            if (buffer.remaining() < Short.BYTES) {
+                drain(copyIn, buffer);
+            }
+            buffer.putShort(TRAILER);
+            drain(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            releaseBuffer(buffer);
+            if (copyIn.isActive()) {
+                cancelQuietly(copyIn);
+            }
+        }
+    }
+
+    private static void drain(CopyIn copyIn, ByteBuffer buffer) throws SQLException {
+        copyIn.writeToCopy(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putInt(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * timestamptz binary 표현: 2000-01-01T00:00:00Z 기준 마이크로초 (int64).
+     */
+    private static long toPostgresMicros(OffsetDateTime time) {
+        return (time.toEpochSecond() - PG_EPOCH_SECONDS) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocate(bufferBytes);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        // 풀이 가득 차 있으면 버린다 (동시 기록이 pool-size를 넘은 경우)
+        bufferPool.offer(buffer);
+    }
+
+    private static void cancelQuietly(CopyIn copyIn) {
+        try {
+            copyIn.cancelCopy();
+        } catch (SQLException e) {
+            log.debug("Failed to cancel COPY: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.prompthub.api.usage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prompthub.api.common.TimeBucketedBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 사용 이벤트 중복 방지.
+ * <p>
+ * 1) Idempotency-Key: 같은 사용자가 같은 키로 다시 보낸 요청은 처음 결과를 그대로 돌려준다 (ttl 동안).
+ *    처리 중인 같은 키의 요청은 먼저 온 요청이 끝날 때까지 기다렸다가 같은 결과를 받는다.
+ * <p>
+ * 2) (user, template) 중복 window: window 안에 같은 사용자가 같은 템플릿을 다시 사용하면 새 이벤트를 만들지 않고
+ *    기존 이벤트를 돌려준다 (재시도, 더블 클릭).
+ *    - 처리 중인 키(inFlight, 동시 요청 수만큼만 유지)를 먼저 확인해 동시에 들어온 중복을 막는다.
+ *    - 시간 버킷 Bloom filter로 "처음 보는 키"를 메모리 조회만으로 통과시킨다 (이벤트당 약 2바이트, 고정 크기).
+ *    - filter가 "있을 수 있음"이라고 답한 경우에만 비동기 적재 큐와 usage_events를 조회해 정확히 확인한다.
+ * 상태는 인스턴스 메모리에만 있으므로 다중 인스턴스 배포에서는 같은 인스턴스로 들어온 요청끼리만 걸러진다.
+ */
+@Component
+public class UsageDeduplicator {
+
+    private final UsageMapper usageMapper;
+    private final UsageEventWriter usageEventWriter;
+    private final boolean enabled;
+    private final Duration window;
+    private final TimeBucketedBloomFilter recentFilter;
+    private final ConcurrentMap<DedupKey, UsageEvent> inFlight = new ConcurrentHashMap<>();
+    private final Cache<IdempotencyKey, CompletableFuture<Replay>> idempotencyCache;
+    private final Counter windowDuplicates;
+    private final Counter idempotentReplays;
+    private final Counter exactChecks;
+
+    public UsageDeduplicator(UsageMapper usageMapper,
+                             UsageEventWriter usageEventWriter,
+                             MeterRegistry meterRegistry,
+                             @Value("${usage.dedup.enabled:true}") boolean enabled,
+                             @Value("${usage.dedup.window-seconds:10}") long windowSeconds,
+                             @Value("${usage.dedup.bucket-count:4}") int bucketCount,
+                             @Value("${usage.dedup.expected-events-per-window:100000}") long expectedEvents,
+                             @Value("${usage.dedup.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${usage.dedup.idempotency.ttl-seconds:86400}") long idempotencyTtlSeconds,
+                             @Value("${usage.dedup.idempotency.maximum-size:100000}") long idempotencyMaximumSize) {
+        this.usageMapper = usageMapper;
+        this.usageEventWriter = usageEventWriter;
+        this.enabled = enabled;
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.recentFilter = new TimeBucketedBloomFilter(
+                window.toMillis(), bucketCount, expectedEvents, falsePositiveRate);
+        this.idempotencyCache = Caffeine.newBuilder()
+                .maximumSize(idempotencyMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(idempotencyTtlSeconds))
+                .build();
+
+        this.windowDuplicates = Counter.builder("usage.dedup.rejected")
+                .tag("reason", "window")
+                .description("Usage events rejected as duplicates within the dedup window")
+                .register(meterRegistry);
+        this.idempotentReplays = Counter.builder("usage.dedup.rejected")
+                .tag("reason", "idempotency_key")
+                .description("Usage requests answered from a previous result with the same Idempotency-Key")
+                .register(meterRegistry);
+        this.exactChecks = Counter.builder("usage.dedup.exact.checks")
+                .description("Bloom filter positives verified against the queue and usage_events")
+                .register(meterRegistry);
+        Gauge.builder("usage.dedup.filter.memory.bytes", recentFilter, TimeBucketedBloomFilter::memoryBytes)
+                .description("Fixed size of the time-bucketed bloom filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Idempotency-Key 처리. 같은 (사용자, 키)로 처음 들어온 요청만 action을 실행하고 결과를 기억한다.
+     * 키를 다른 템플릿에 재사용하면 400으로 거절한다. action이 실패하면 결과를 기억하지 않는다 (재시도 허용).
+     */
+    public UsageService.Result idempotent(UUID userId, String key, UUID templateId,
+                                          Supplier<UsageService.Result> action) {
+        if (key.isBlank() || key.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to 255 characters");
+        }
+        IdempotencyKey cacheKey = new IdempotencyKey(userId, key);
+        CompletableFuture<Replay> created = new CompletableFuture<>();
+        CompletableFuture<Replay> existing = idempotencyCache.asMap().putIfAbsent(cacheKey, created);
+        if (existing != null) {
+            Replay replay;
+            try {
+                replay = existing.join();
+            } catch (CompletionException e) {
+                // 먼저 온 요청이 실패했다: 같은 오류로 응답하고, 다음 재시도는 새로 실행된다
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (!replay.templateId().equals(templateId)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+            }
+            idempotentReplays.increment();
+            return replay.result();
+        }
+
+        try {
+            UsageService.Result result = action.get();
+            created.complete(new Replay(templateId, result));
+            return result;
+        } catch (RuntimeException e) {
+            idempotencyCache.asMap().remove(cacheKey, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * window 안에 같은 (사용자, 템플릿) 이벤트가 있으면 그 이벤트를 반환한다.
+     * 없으면 candidate를 처리 중으로 등록하고 empty를 반환한다. 등록은 현재 트랜잭션이 끝날 때 해제되므로
+     * 이벤트 기록과 같은 트랜잭션 안에서 호출해야 한다.
+     */
+    public Optional<UsageEvent> findDuplicate(UsageEvent candidate) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        DedupKey key = new DedupKey(candidate.getUserId(), candidate.getTemplateId());
+        UsageEvent concurrent = inFlight.putIfAbsent(key, candidate);
+        if (concurrent != null) {
+            windowDuplicates.increment();
+            return Optional.of(concurrent);
+        }
+
+        long now = candidate.getUsedAt().toInstant().toEpochMilli();
+        long h1 = key.hash1();
+        long h2 = key.hash2();
+        Optional<UsageEvent> existing = Optional.empty();
+        if (recentFilter.mightContain(h1, h2, now)) {
+            existing = findRecent(candidate, candidate.getUsedAt().minus(window));
+        }
+        if (existing.isPresent()) {
+            inFlight.remove(key, candidate);
+            windowDuplicates.increment();
+            return existing;
+        }
+
+        recentFilter.put(h1, h2, now);
+        releaseAfterCompletion(key, candidate);
+        return existing;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private Optional<UsageEvent> findRecent(UsageEvent candidate, OffsetDateTime since) {
+        exactChecks.increment();
+        Optional<UsageEvent> queued = usageEventWriter.findQueued(candidate.getUserId(), candidate.getTemplateId(), since);
+        if (queued.isPresent()) {
+            return queued;
+        }
+        return usageMapper.findRecent(candidate.getUserId(), candidate.getTemplateId(), since);
+    }
+
+    /**
+     * 커밋(또는 롤백) 후 처리 중 등록을 해제한다. 커밋된 이벤트는 그때부터 usage_events 조회로 확인된다.
+     */
+    private void releaseAfterCompletion(DedupKey key, UsageEvent candidate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.remove(key, candidate);
+                }
+            });
+        } else {
+            inFlight.remove(key, candidate);
+        }
+    }
+
+    private record IdempotencyKey(UUID userId, String key) {
+    }
+
+    private record Replay(UUID templateId, UsageService.Result result) {
+    }
+
+    private record DedupKey(UUID userId, UUID templateId) {
+
+        long hash1() {
+            return mix(userId.getMostSignificantBits() ^ mix(userId.getLeastSignificantBits()
+                    ^ mix(templateId.getMostSignificantBits() ^ mix(templateId.getLeastSignificantBits()))));
+        }
+
+        long hash2() {
+            // 0이면 모든 해시가 같은 비트를 가리키므로 홀수로 만든다
+            return mix(hash1() ^ 0x9E3779B97F4A7C15L) | 1L;
+        }
+
+        /** SplitMix64 finalizer */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
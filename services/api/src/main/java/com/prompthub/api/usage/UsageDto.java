@@ -1,11 +1,15 @@
 package com.prompthub.api.usage;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -13,6 +17,9 @@ import java.util.UUID;
  */
 public class UsageDto {
 
+    /** 일괄 기록 요청 한 건에 담을 수 있는 최대 이벤트 수 */
+    public static final int MAX_BATCH_ITEMS = 1000;
+
     /**
      * 사용 이벤트 기록 요청 DTO.
      */
@@ -24,6 +31,60 @@ public class UsageDto {
         private UUID templateId;
     }
 
+    /**
+     * 사용 이벤트 일괄 기록 요청 DTO (오프라인 클라이언트 재전송용).
+     */
+    @Getter
+    public static class BatchRequest {
+
+        @NotEmpty(message = "items must not be empty")
+        @Size(max = MAX_BATCH_ITEMS, message = "items must contain " + MAX_BATCH_ITEMS + " entries or less")
+        private List<@Valid @NotNull(message = "item must not be null") BatchItem> items;
+    }
+
+    /**
+     * 일괄 기록 항목. used_at은 클라이언트가 실제로 사용한 시각이다.
+     */
+    @Getter
+    public static class BatchItem {
+
+        @NotNull(message = "template_id is required")
+        @JsonProperty("template_id")
+        private UUID templateId;
+
+        @NotNull(message = "used_at is required")
+        @JsonProperty("used_at")
+        private OffsetDateTime usedAt;
+    }
+
+    /**
+     * 일괄 기록 응답 DTO.
+     * - recorded: 기록된 이벤트 수
+     * - expired: 허용 기간(usage.batch.max-age-days)보다 오래되어 버린 이벤트 수
+     * - rejected: 기록하지 않은 템플릿별 사유 (not_found | forbidden)
+     */
+    @Getter
+    @Builder
+    public static class BatchResponse {
+
+        private int recorded;
+        private int expired;
+        private List<Rejected> rejected;
+    }
+
+    /**
+     * 일괄 기록에서 제외된 템플릿.
+     */
+    @Getter
+    @Builder
+    public static class Rejected {
+
+        @JsonProperty("template_id")
+        private UUID templateId;
+
+        private String reason;
+    }
+
     /**
      * 사용 이벤트 응답 DTO.
      */
@@ -0,0 +1,285 @@
+package com.prompthub.api.usage;
+
+import com.prompthub.api.common.ServiceUnavailableException;
+import com.prompthub.api.ranking.WeeklyRankingEngine;
+import com.prompthub.api.template.UseCountAccumulator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 적재 모드(usage.ingestion.mode=async)의 백그라운드 writer.
+ * - 요청 스레드는 bounded 큐에 이벤트를 넣고 즉시 응답한다.
+ * - writer 스레드는 batch-size 또는 flush-interval 기준으로 이벤트를 모아
+ *   UsageCopyWriter(binary COPY, 불가 시 multi-row INSERT)로 반영한다.
+ * - use_count 증분(UseCountAccumulator)과 주간 랭킹(WeeklyRankingEngine)은 배치가 기록된 뒤에만 반영하므로
+ *   기록하지 못한 이벤트가 메모리 집계에만 남지 않는다.
+ * - 기록 실패는 backoff를 늘려 가며 재시도한다. DB 연결/일시적 오류는 실행 중인 동안 계속 재시도하고
+ *   (그 사이 큐가 차면 요청이 503을 받는다), 그 밖의 오류와 종료 중 실패는 MAX_FLUSH_ATTEMPTS 후 버린다
+ *   (usage.ingestion.dropped).
+ * - 큐가 가득 차면 offer-timeout 동안 대기 후 503으로 거절한다 (backpressure, usage.ingestion.rejected).
+ * - 애플리케이션 종료 시 큐에 남은 이벤트를 모두 flush한 뒤 멈춘다.
+ */
+@Component
+public class UsageEventWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(UsageEventWriter.class);
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final UsageCopyWriter usageCopyWriter;
+    private final UseCountAccumulator useCountAccumulator;
+    private final WeeklyRankingEngine weeklyRankingEngine;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final long retryBackoffMs;
+    private final long retryMaxBackoffMs;
+    private final BlockingQueue<UsageEvent> queue;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public UsageEventWriter(UsageCopyWriter usageCopyWriter,
+                            UseCountAccumulator useCountAccumulator,
+                            WeeklyRankingEngine weeklyRankingEngine,
+                            MeterRegistry meterRegistry,
+                            @Value("${usage.ingestion.mode:sync}") String mode,
+                            @Value("${usage.ingestion.queue-capacity:10000}") int queueCapacity,
+                            @Value("${usage.ingestion.batch-size:500}") int batchSize,
+                            @Value("${usage.ingestion.flush-interval-ms:200}") long flushIntervalMs,
+                            @Value("${usage.ingestion.offer-timeout-ms:50}") long offerTimeoutMs,
+                            @Value("${usage.ingestion.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                            @Value("${usage.ingestion.retry-backoff-ms:100}") long retryBackoffMs,
+                            @Value("${usage.ingestion.retry-max-backoff-ms:5000}") long retryMaxBackoffMs) {
+        if (batchSize < 1 || batchSize > 5000) {
+            // usage_events 4컬럼 x 5000행 = 20000 bind 파라미터 (PostgreSQL 한도 65535)
+            throw new IllegalArgumentException("usage.ingestion.batch-size must be between 1 and 5000");
+        }
+        this.usageCopyWriter = usageCopyWriter;
+        this.useCountAccumulator = useCountAccumulator;
+        this.weeklyRankingEngine = weeklyRankingEngine;
+        this.enabled = "async".equalsIgnoreCase(mode);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.retryBackoffMs = Math.max(1, retryBackoffMs);
+        this.retryMaxBackoffMs = Math.max(this.retryBackoffMs, retryMaxBackoffMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.rejected = Counter.builder("usage.ingestion.rejected")
+                .description("Usage events rejected with 503 because the ingestion queue was full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("usage.ingestion.dropped")
+                .description("Queued usage events discarded after failed flush attempts (never counted)")
+                .register(meterRegistry);
+        Gauge.builder("usage.ingestion.queue.size", queue, BlockingQueue::size)
+                .description("Usage events waiting in the async ingestion queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 비동기 적재 모드 활성화 여부.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 이벤트를 큐에 넣는다. 큐가 가득 차 offer-timeout 내에 자리가 나지 않으면 503으로 거절한다.
+     */
+    public void submit(UsageEvent event) {
+        if (!running) {
+            throw new ServiceUnavailableException("Usage ingestion is not running", 1);
+        }
+        boolean accepted;
+        try {
+            accepted = queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Usage ingestion queue is full", 1);
+        }
+    }
+
+    /**
+     * 큐에 남아 있는 (아직 INSERT되지 않은) since 이후 이벤트 중 같은 사용자/템플릿의 것을 찾는다.
+     * 중복 확인용이며 큐 전체를 순회하므로 Bloom filter가 양성일 때만 호출한다.
+     */
+    public Optional<UsageEvent> findQueued(UUID userId, UUID templateId, OffsetDateTime since) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        for (UsageEvent event : queue) {
+            if (event.getTemplateId().equals(templateId) && event.getUserId().equals(userId)
+                    && !event.getUsedAt().isBefore(since)) {
+                return Optional.of(event);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // -------------------------------------------------------------------------
+    // SmartLifecycle
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, "usage-event-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Usage event writer started (batchSize={}, flushIntervalMs={}, capacity={})",
+                batchSize, flushIntervalMs, queue.remainingCapacity());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            // 기록되지 않은 이벤트는 use_count/랭킹에도 반영되지 않았다
+            dropped.increment(queue.size());
+            log.error("Usage event writer stopped with {} events still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // -------------------------------------------------------------------------
+    // Writer loop
+    // -------------------------------------------------------------------------
+
+    private void runLoop() {
+        List<UsageEvent> batch = new ArrayList<>(batchSize);
+        // 종료 요청 후에도 큐가 빌 때까지 계속 flush (flush-on-shutdown)
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * batch-size가 차거나 첫 이벤트 이후 flush-interval이 지날 때까지 이벤트를 모은다.
+     */
+    private void collectBatch(List<UsageEvent> batch) throws InterruptedException {
+        UsageEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            UsageEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<UsageEvent> batch) {
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                usageCopyWriter.write(batch);
+                applyCounters(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_FLUSH_ATTEMPTS && !(running && isTransient(e))) {
+                    drop(batch, attempt, e);
+                    return;
+                }
+                log.warn("Failed to flush {} usage events (attempt {}, retrying in {} ms): {}",
+                        batch.size(), attempt, backoffMs, e.getMessage());
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                drop(batch, attempt, e);
+                return;
+            }
+            backoffMs = Math.min(backoffMs * 2, retryMaxBackoffMs);
+        }
+    }
+
+    /**
+     * 기록된 배치만 use_count 증분과 주간 랭킹에 반영한다.
+     */
+    private void applyCounters(List<UsageEvent> batch) {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (UsageEvent event : batch) {
+            counts.merge(event.getTemplateId(), 1L, Long::sum);
+            weeklyRankingEngine.record(event.getTemplateId(), event.getUsedAt());
+        }
+        counts.forEach(useCountAccumulator::add);
+    }
+
+    private void drop(List<UsageEvent> batch, int attempts, Exception cause) {
+        dropped.increment(batch.size());
+        log.error("Dropping {} usage events after {} failed flush attempts: {}",
+                batch.size(), attempts, cause.getMessage());
+    }
+
+    /**
+     * 기다리면 성공할 수 있는 오류 (DB 연결 실패, 직렬화 실패/교착 등).
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+}
@@ -1,6 +1,12 @@
 package com.prompthub.api.usage;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * usage_events 테이블 MyBatis Mapper 인터페이스.
@@ -13,4 +19,17 @@ public interface UsageMapper {
      * 사용 이벤트 기록.
      */
     void insert(UsageEvent event);
+
+    /**
+     * 사용 이벤트 일괄 기록 (multi-row INSERT).
+     * 비동기 적재 모드에서 백그라운드 writer가 호출한다.
+     */
+    int insertBatch(@Param("events") List<UsageEvent> events);
+
+    /**
+     * since 이후 (userId, templateId)의 가장 최근 이벤트 (중복 window 정확 확인용).
+     */
+    Optional<UsageEvent> findRecent(@Param("userId") UUID userId,
+                                    @Param("templateId") UUID templateId,
+                                    @Param("since") OffsetDateTime since);
 }
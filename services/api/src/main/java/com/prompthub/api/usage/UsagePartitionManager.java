@@ -0,0 +1,157 @@
+package com.prompthub.api.usage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * usage_events 주간 range 파티션 관리 스케줄 작업.
+ * - 이번 주부터 premake-weeks 주 뒤까지의 파티션을 미리 만든다 (DEFAULT 파티션이 없으므로 필수).
+ * - 범위 전체가 보관 기한(now - raw-max-age, high-water mark 중 이른 시각) 이전인 파티션은
+ *   usage.retention.mode에 따라 usage_events_archive로 복사(archive)한 뒤 DETACH + DROP 한다.
+ *   행 단위 DELETE가 없으므로 vacuum 대상이 남지 않는다.
+ * - DETACH/DROP은 부모 테이블에 ACCESS EXCLUSIVE 잠금이 필요하므로 lock-timeout을 넘기면 포기하고 다음 실행에 재시도한다.
+ * advisory lock으로 다중 인스턴스 중복 실행을 막는다.
+ */
+@Component
+public class UsagePartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(UsagePartitionManager.class);
+    private static final long PARTITION_LOCK_KEY = 0x7573616765_03L; // "usage" + 03
+    private static final Pattern PARTITION_NAME = Pattern.compile("usage_events_p(\\d{8})");
+    private static final DateTimeFormatter PARTITION_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final UsagePartitionMapper usagePartitionMapper;
+    private final UsageRollupMapper usageRollupMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int premakeWeeks;
+    private final String lockTimeout;
+    private final Duration rawMaxAge;
+    private final boolean archive;
+
+    public UsagePartitionManager(UsagePartitionMapper usagePartitionMapper,
+                                 UsageRollupMapper usageRollupMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${usage.partition.enabled:true}") boolean enabled,
+                                 @Value("${usage.partition.premake-weeks:4}") int premakeWeeks,
+                                 @Value("${usage.partition.lock-timeout-ms:5000}") long lockTimeoutMs,
+                                 @Value("${usage.retention.raw-max-age-days:90}") long rawMaxAgeDays,
+                                 @Value("${usage.retention.mode:delete}") String retentionMode) {
+        if (!"delete".equalsIgnoreCase(retentionMode) && !"archive".equalsIgnoreCase(retentionMode)) {
+            throw new IllegalArgumentException("usage.retention.mode must be one of: delete, archive");
+        }
+        if (rawMaxAgeDays < 8) {
+            // 주간 랭킹은 최근 7일 원본 데이터를 읽는다
+            throw new IllegalArgumentException("usage.retention.raw-max-age-days must be at least 8 days");
+        }
+        if (premakeWeeks < 1) {
+            throw new IllegalArgumentException("usage.partition.premake-weeks must be at least 1");
+        }
+        this.usagePartitionMapper = usagePartitionMapper;
+        this.usageRollupMapper = usageRollupMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.premakeWeeks = premakeWeeks;
+        this.lockTimeout = lockTimeoutMs + "ms";
+        this.rawMaxAge = Duration.ofDays(rawMaxAgeDays);
+        this.archive = "archive".equalsIgnoreCase(retentionMode);
+    }
+
+    /**
+     * 기동 시 한 번, 이후 cron 주기로 파티션을 생성/정리한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${usage.partition.cron:0 10 * * * *}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            createUpcomingPartitions();
+        } catch (RuntimeException e) {
+            log.error("Failed to create usage_events partitions: {}", e.getMessage());
+        }
+        try {
+            dropExpiredPartitions();
+        } catch (RuntimeException e) {
+            log.warn("Failed to drop expired usage_events partitions: {}", e.getMessage());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private void createUpcomingPartitions() {
+        LocalDate thisWeek = weekStart(OffsetDateTime.now(ZoneOffset.UTC));
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!usageRollupMapper.tryAdvisoryXactLock(PARTITION_LOCK_KEY)) {
+                return;
+            }
+            for (int i = 0; i <= premakeWeeks; i++) {
+                usagePartitionMapper.createPartition(thisWeek.plusWeeks(i));
+            }
+        });
+    }
+
+    private void dropExpiredPartitions() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        // 아직 rollup되지 않은 이벤트가 있는 파티션은 보관 기간이 지나도 남겨둔다
+        OffsetDateTime highWaterMark = usageRollupMapper.findHighWaterMark();
+        OffsetDateTime cutoff = now.minus(rawMaxAge);
+        if (highWaterMark.isBefore(cutoff)) {
+            cutoff = highWaterMark;
+        }
+
+        for (String partition : usagePartitionMapper.findPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            OffsetDateTime rangeEnd = LocalDate.parse(matcher.group(1), PARTITION_DATE)
+                    .plusWeeks(1)
+                    .atStartOfDay()
+                    .atOffset(ZoneOffset.UTC);
+            if (rangeEnd.isAfter(cutoff)) {
+                // 이름 순 = 시간 순이므로 이후 파티션도 모두 보관 대상
+                return;
+            }
+            Integer archived = transactionTemplate.execute(status -> {
+                if (!usageRollupMapper.tryAdvisoryXactLock(PARTITION_LOCK_KEY)) {
+                    return null;
+                }
+                usagePartitionMapper.setLocalLockTimeout(lockTimeout);
+                int rows = archive ? usagePartitionMapper.archivePartition(partition) : 0;
+                usagePartitionMapper.detachPartition(partition);
+                usagePartitionMapper.dropPartition(partition);
+                return rows;
+            });
+            if (archived == null) {
+                return;
+            }
+            log.info("Dropped usage_events partition {}{}", partition,
+                    archive ? " after archiving " + archived + " events" : "");
+        }
+    }
+
+    private static LocalDate weekStart(OffsetDateTime time) {
+        return time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,46 @@
+package com.prompthub.api.usage;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * usage_events 주간 파티션 관리 MyBatis Mapper 인터페이스.
+ * SQL은 UsagePartitionMapper.xml에 정의된다.
+ * partition 파라미터는 ${} 로 치환되므로 호출 측에서 이름 형식을 검증한 값만 넘긴다.
+ */
+@Mapper
+public interface UsagePartitionMapper {
+
+    /**
+     * weekStart(월요일)부터 7일 범위의 파티션을 없으면 만들고 이름을 반환한다.
+     */
+    String createPartition(@Param("weekStart") LocalDate weekStart);
+
+    /**
+     * 현재 usage_events에 붙어 있는 파티션 이름 목록 (이름 오름차순 = 시간 오름차순).
+     */
+    List<String> findPartitions();
+
+    /**
+     * 현재 트랜잭션의 lock_timeout 설정 (예: "5000ms").
+     */
+    String setLocalLockTimeout(@Param("timeout") String timeout);
+
+    /**
+     * 파티션의 모든 행을 usage_events_archive로 복사한다.
+     */
+    int archivePartition(@Param("partition") String partition);
+
+    /**
+     * 파티션을 usage_events에서 분리한다.
+     */
+    void detachPartition(@Param("partition") String partition);
+
+    /**
+     * 분리된 파티션 테이블을 삭제한다.
+     */
+    void dropPartition(@Param("partition") String partition);
+}
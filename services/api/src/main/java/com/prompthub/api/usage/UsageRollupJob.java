@@ -0,0 +1,123 @@
+package com.prompthub.api.usage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * usage_events rollup 및 보관 정책 스케줄 작업.
+ * - rollup: high-water mark 이후 (현재 - lag]까지의 이벤트를 usage_hourly에 누적하고
+ *   영향받은 날짜의 usage_daily를 재계산한 뒤 high-water mark를 전진시킨다 (한 트랜잭션).
+ *   lag는 비동기 적재 등으로 늦게 INSERT되는 이벤트가 high-water mark 뒤로 밀리지 않도록 하는 여유 시간이다.
+ * - retention: 보관 기간이 지난 usage_hourly 행만 삭제한다 (usage_daily는 유지).
+ *   원본 usage_events 보관은 이 작업이 하지 않는다. UsagePartitionManager가 기간이 지난 주간 파티션을
+ *   (archive 모드면 usage_events_archive로 복사한 뒤) DETACH + DROP 하므로 원본 행 DELETE 루프는 없다.
+ * rollup은 advisory lock으로 다중 인스턴스 중복 실행을 막는다.
+ */
+@Component
+public class UsageRollupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(UsageRollupJob.class);
+    private static final long ROLLUP_LOCK_KEY = 0x7573616765_01L; // "usage" + 01
+
+    private final UsageRollupMapper usageRollupMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration lag;
+    private final Duration maxRange;
+    private final Duration hourlyMaxAge;
+
+    public UsageRollupJob(UsageRollupMapper usageRollupMapper,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${usage.rollup.enabled:true}") boolean enabled,
+                          @Value("${usage.rollup.lag-seconds:300}") long lagSeconds,
+                          @Value("${usage.rollup.max-range-hours:24}") long maxRangeHours,
+                          @Value("${usage.retention.hourly-max-age-days:35}") long hourlyMaxAgeDays) {
+        if (hourlyMaxAgeDays < 8) {
+            // 주간 랭킹은 최근 7일 시간 단위 데이터를 읽는다
+            throw new IllegalArgumentException("usage.retention.hourly-max-age-days must be at least 8 days");
+        }
+        this.usageRollupMapper = usageRollupMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.lag = Duration.ofSeconds(lagSeconds);
+        this.maxRange = Duration.ofHours(maxRangeHours);
+        this.hourlyMaxAge = Duration.ofDays(hourlyMaxAgeDays);
+    }
+
+    /**
+     * high-water mark 이후 이벤트를 rollup 테이블에 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${usage.rollup.interval-ms:60000}",
+               initialDelayString = "${usage.rollup.interval-ms:60000}")
+    public void rollup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            OffsetDateTime advancedTo = transactionTemplate.execute(status -> rollupOnce());
+            if (advancedTo != null) {
+                log.debug("Usage rollup advanced high-water mark to {}", advancedTo);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Usage rollup failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 usage_hourly 행을 정리한다 (usage_daily는 유지).
+     * 원본 이벤트는 UsagePartitionManager가 파티션 단위로 정리한다.
+     */
+    @Scheduled(cron = "${usage.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(hourlyMaxAge);
+            int hourly = usageRollupMapper.deleteHourlyBefore(cutoff);
+            log.info("Usage retention pruned {} hourly rows before {}", hourly, cutoff);
+        } catch (RuntimeException e) {
+            log.warn("Usage retention failed: {}", e.getMessage());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private OffsetDateTime rollupOnce() {
+        if (!usageRollupMapper.tryAdvisoryXactLock(ROLLUP_LOCK_KEY)) {
+            return null;
+        }
+        OffsetDateTime from = usageRollupMapper.lockHighWaterMark();
+        OffsetDateTime horizon = OffsetDateTime.now(ZoneOffset.UTC).minus(lag);
+        if (!from.isBefore(horizon)) {
+            return null;
+        }
+        // 첫 실행(백필) 시 한 트랜잭션이 너무 커지지 않도록 구간을 나눈다
+        OffsetDateTime to = min(horizon, from.plus(maxRange));
+
+        usageRollupMapper.rollupHourly(from, to);
+        usageRollupMapper.rollupDaily(startOfDay(from), startOfDay(to).plusDays(1));
+        usageRollupMapper.updateHighWaterMark(to);
+        return to;
+    }
+
+    static OffsetDateTime startOfDay(OffsetDateTime time) {
+        return time.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    private static OffsetDateTime min(OffsetDateTime a, OffsetDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
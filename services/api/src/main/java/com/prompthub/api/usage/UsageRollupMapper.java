@@ -0,0 +1,60 @@
+package com.prompthub.api.usage;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * usage_hourly / usage_daily rollup 및 보관 정책 MyBatis Mapper 인터페이스.
+ * SQL은 UsageRollupMapper.xml에 정의된다.
+ */
+@Mapper
+public interface UsageRollupMapper {
+
+    /**
+     * 트랜잭션 범위 advisory lock 획득 시도 (다중 인스턴스 중복 실행 방지).
+     */
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+
+    /**
+     * 현재 high-water mark 조회 (FOR UPDATE).
+     */
+    OffsetDateTime lockHighWaterMark();
+
+    /**
+     * 현재 high-water mark 조회.
+     */
+    OffsetDateTime findHighWaterMark();
+
+    /**
+     * 현재 high-water mark 조회 (FOR SHARE). 트랜잭션이 끝날 때까지 rollup이 진행되지 않는다.
+     */
+    OffsetDateTime shareLockHighWaterMark();
+
+    /**
+     * from < used_at <= to 구간의 이벤트를 usage_hourly에 누적한다.
+     */
+    int rollupHourly(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    /**
+     * 지정한 이벤트들을 usage_hourly에 누적한다 (high-water mark 이전으로 늦게 도착한 이벤트용).
+     */
+    int rollupHourlyByIds(@Param("ids") UUID[] ids);
+
+    /**
+     * fromDay <= bucket < toDay 구간의 usage_daily를 usage_hourly로부터 재계산한다.
+     */
+    int rollupDaily(@Param("fromDay") OffsetDateTime fromDay, @Param("toDay") OffsetDateTime toDay);
+
+    /**
+     * high-water mark 갱신.
+     */
+    int updateHighWaterMark(@Param("highWaterMark") OffsetDateTime highWaterMark);
+
+    /**
+     * cutoff 이전 usage_hourly 행 삭제 (usage_daily는 유지).
+     */
+    int deleteHourlyBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
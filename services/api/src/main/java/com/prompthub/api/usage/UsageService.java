@@ -1,42 +1,111 @@
 package com.prompthub.api.usage;
 
 import com.prompthub.api.common.AccessDeniedException;
+import com.prompthub.api.common.AfterCommit;
 import com.prompthub.api.common.ResourceNotFoundException;
+import com.prompthub.api.ranking.WeeklyRankingEngine;
 import com.prompthub.api.template.Template;
+import com.prompthub.api.template.TemplateCache;
 import com.prompthub.api.template.TemplateMapper;
+import com.prompthub.api.template.UseCountAccumulator;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Usage Event 비즈니스 로직.
- * 이벤트 기록과 동시에 templates.use_count를 원자적으로 증가시킨다.
+ * 이벤트 기록과 동시에 UseCountAccumulator로 templates.use_count 증분을 누적한다.
+ * usage.ingestion.mode=async 이면 접근 검증 후 UsageEventWriter 큐에 넘기고 즉시 응답한다
+ * (use_count 증분과 주간 랭킹은 writer가 배치를 기록한 뒤 반영한다).
+ * 일괄 기록(recordUsageBatch)은 이미 묶여 들어오므로 적재 모드와 관계없이 동기로 INSERT한다.
+ * public 메서드 실행 시간은 service.method 타이머로 기록된다 (MetricsConfig).
  */
 @Service
+@Timed("service.method")
 public class UsageService {
 
     private final UsageMapper usageMapper;
+    private final UsageCopyWriter usageCopyWriter;
+    private final UsageRollupMapper usageRollupMapper;
     private final TemplateMapper templateMapper;
+    private final TemplateCache templateCache;
+    private final UsageEventWriter usageEventWriter;
+    private final UsageDeduplicator usageDeduplicator;
+    private final UseCountAccumulator useCountAccumulator;
+    private final WeeklyRankingEngine weeklyRankingEngine;
+    private final Duration batchMaxAge;
+    private final Duration batchClockSkew;
 
-    public UsageService(UsageMapper usageMapper, TemplateMapper templateMapper) {
+    public UsageService(UsageMapper usageMapper,
+                        UsageCopyWriter usageCopyWriter,
+                        UsageRollupMapper usageRollupMapper,
+                        TemplateMapper templateMapper,
+                        TemplateCache templateCache,
+                        UsageEventWriter usageEventWriter,
+                        UsageDeduplicator usageDeduplicator,
+                        UseCountAccumulator useCountAccumulator,
+                        WeeklyRankingEngine weeklyRankingEngine,
+                        @Value("${usage.batch.max-age-days:7}") long batchMaxAgeDays,
+                        @Value("${usage.batch.clock-skew-seconds:300}") long batchClockSkewSeconds,
+                        @Value("${usage.retention.hourly-max-age-days:35}") long hourlyMaxAgeDays) {
+        if (batchMaxAgeDays < 1 || batchMaxAgeDays >= hourlyMaxAgeDays) {
+            // 늦게 도착한 이벤트는 usage_hourly에 직접 누적하므로 시간 단위 보관 기간 안이어야 한다
+            throw new IllegalArgumentException(
+                    "usage.batch.max-age-days must be at least 1 and less than usage.retention.hourly-max-age-days");
+        }
         this.usageMapper = usageMapper;
+        this.usageCopyWriter = usageCopyWriter;
+        this.usageRollupMapper = usageRollupMapper;
         this.templateMapper = templateMapper;
+        this.templateCache = templateCache;
+        this.usageEventWriter = usageEventWriter;
+        this.usageDeduplicator = usageDeduplicator;
+        this.useCountAccumulator = useCountAccumulator;
+        this.weeklyRankingEngine = weeklyRankingEngine;
+        this.batchMaxAge = Duration.ofDays(batchMaxAgeDays);
+        this.batchClockSkew = Duration.ofSeconds(batchClockSkewSeconds);
+    }
+
+    /**
+     * recordUsage 결과. duplicate이면 새 이벤트를 기록하지 않고 기존 이벤트를 돌려준 것이다.
+     */
+    public record Result(UsageDto.Response response, boolean duplicate) {
+    }
+
+    /**
+     * 비동기 적재 모드 여부 (true이면 recordUsage는 큐 적재까지만 수행한다).
+     */
+    public boolean isAsyncIngestion() {
+        return usageEventWriter.isEnabled();
     }
 
     /**
      * 사용 이벤트를 기록하고 use_count를 1 증가시킨다.
      * 비공개 템플릿은 소유자만 사용 이벤트를 기록할 수 있다 (V-04).
+     * 중복 window 안에 같은 사용자/템플릿 이벤트가 있으면 새로 기록하지 않고 그 이벤트를 반환한다.
      *
      * @param request       템플릿 ID를 담은 요청 DTO
      * @param currentUserId JWT에서 추출한 사용자 ID
-     * @return 생성된 이벤트 정보
+     * @return 생성된(또는 중복으로 판정된 기존) 이벤트 정보
      */
     @Transactional
-    public UsageDto.Response recordUsage(UsageDto.CreateRequest request, UUID currentUserId) {
+    public Result recordUsage(UsageDto.CreateRequest request, UUID currentUserId) {
         // 템플릿 존재 여부 확인
-        Template template = templateMapper.findById(request.getTemplateId())
+        Template template = templateCache.findById(request.getTemplateId())
                 .orElseThrow(() -> ResourceNotFoundException.of("Template", request.getTemplateId()));
 
         // 비공개 템플릿은 소유자만 사용 이벤트 기록 가능 (V-04: use_count 어뷰징 방지)
@@ -51,11 +120,110 @@ public class UsageService {
         event.setUserId(currentUserId);
         event.setUsedAt(OffsetDateTime.now());
 
+        // 재시도/더블 클릭: INSERT와 use_count 증가 없이 기존 이벤트로 응답
+        Optional<UsageEvent> duplicate = usageDeduplicator.findDuplicate(event);
+        if (duplicate.isPresent()) {
+            return new Result(toResponse(duplicate.get()), true);
+        }
+
+        if (usageEventWriter.isEnabled()) {
+            // 비동기 모드: INSERT와 use_count/랭킹 반영은 writer가 배치로 처리
+            // 롤백된 요청의 이벤트가 큐에 들어가지 않도록 커밋 후 적재 (큐가 가득 차면 여기서 503)
+            AfterCommit.run(() -> usageEventWriter.submit(event));
+            return new Result(toResponse(event), false);
+        }
+
         usageMapper.insert(event);
+        // 롤백된 이벤트가 메모리 집계에 남지 않도록 커밋 후 반영
+        AfterCommit.run(() -> {
+            // use_count 증가 (누산기에 적재, 주기적으로 DB 반영)
+            useCountAccumulator.increment(event.getTemplateId());
+            // 주간 랭킹 hourly slice 반영
+            weeklyRankingEngine.record(event.getTemplateId(), event.getUsedAt());
+        });
 
-        // use_count 증가
-        templateMapper.incrementUseCount(request.getTemplateId());
+        return new Result(toResponse(event), false);
+    }
 
+    /**
+     * 오프라인 클라이언트가 모아 둔 사용 이벤트를 한 번에 기록한다.
+     * - 접근 검증은 서로 다른 템플릿마다 한 번, WHERE id = ANY(?) 조회 한 번으로 끝낸다.
+     *   없는 템플릿(not_found)과 남의 비공개 템플릿(forbidden)의 이벤트는 버리고 응답에 사유를 담는다.
+     * - 이벤트는 UsageCopyWriter로 한 번에 기록하고 (binary COPY, 불가 시 multi-row INSERT),
+     *   use_count는 템플릿별 합계를 누산기에 한 번씩 더한다.
+     * - high-water mark 이전 시각의 이벤트는 rollup이 다시 읽지 않으므로 같은 트랜잭션에서
+     *   usage_hourly / usage_daily에 직접 누적한다 (FOR SHARE로 rollup과 직렬화).
+     *
+     * @throws IllegalArgumentException used_at이 허용 오차보다 미래인 항목이 있는 경우
+     */
+    @Transactional
+    public UsageDto.BatchResponse recordUsageBatch(List<UsageDto.BatchItem> items, UUID currentUserId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime latest = now.plus(batchClockSkew);
+        OffsetDateTime oldest = now.minus(batchMaxAge);
+        for (UsageDto.BatchItem item : items) {
+            if (item.getUsedAt().isAfter(latest)) {
+                throw new IllegalArgumentException("used_at must not be in the future: " + item.getUsedAt());
+            }
+        }
+
+        // 템플릿별 접근 검증 (한 번의 조회)
+        UUID[] templateIds = items.stream()
+                .map(UsageDto.BatchItem::getTemplateId)
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .toArray(UUID[]::new);
+        Map<UUID, Template> templates = new HashMap<>();
+        for (Template template : templateMapper.findOwnersByIds(templateIds)) {
+            templates.put(template.getId(), template);
+        }
+        List<UsageDto.Rejected> rejected = new ArrayList<>();
+        Set<UUID> allowed = new LinkedHashSet<>();
+        for (UUID templateId : templateIds) {
+            Template template = templates.get(templateId);
+            if (template == null) {
+                rejected.add(UsageDto.Rejected.builder().templateId(templateId).reason("not_found").build());
+            } else if (!template.isPublic() && !template.getOwnerId().equals(currentUserId)) {
+                // V-04: 비공개 템플릿은 소유자만 사용 이벤트 기록 가능
+                rejected.add(UsageDto.Rejected.builder().templateId(templateId).reason("forbidden").build());
+            } else {
+                allowed.add(templateId);
+            }
+        }
+
+        List<UsageEvent> events = new ArrayList<>(items.size());
+        int expired = 0;
+        for (UsageDto.BatchItem item : items) {
+            if (!allowed.contains(item.getTemplateId())) {
+                continue;
+            }
+            if (item.getUsedAt().isBefore(oldest)) {
+                expired++;
+                continue;
+            }
+            UsageEvent event = new UsageEvent();
+            event.setId(UUID.randomUUID());
+            event.setTemplateId(item.getTemplateId());
+            event.setUserId(currentUserId);
+            event.setUsedAt(item.getUsedAt());
+            events.add(event);
+        }
+
+        if (!events.isEmpty()) {
+            insertBatch(events);
+        }
+
+        return UsageDto.BatchResponse.builder()
+                .recorded(events.size())
+                .expired(expired)
+                .rejected(rejected)
+                .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static UsageDto.Response toResponse(UsageEvent event) {
         return UsageDto.Response.builder()
                 .id(event.getId())
                 .templateId(event.getTemplateId())
@@ -63,4 +231,31 @@ public class UsageService {
                 .usedAt(event.getUsedAt())
                 .build();
     }
+
+    private void insertBatch(List<UsageEvent> events) {
+        OffsetDateTime highWaterMark = usageRollupMapper.shareLockHighWaterMark();
+        usageCopyWriter.write(events);
+
+        List<UsageEvent> late = events.stream()
+                .filter(e -> !e.getUsedAt().isAfter(highWaterMark))
+                .toList();
+        if (!late.isEmpty()) {
+            OffsetDateTime from = late.stream().map(UsageEvent::getUsedAt).min(OffsetDateTime::compareTo).orElseThrow();
+            OffsetDateTime to = late.stream().map(UsageEvent::getUsedAt).max(OffsetDateTime::compareTo).orElseThrow();
+            usageRollupMapper.rollupHourlyByIds(late.stream().map(UsageEvent::getId).toArray(UUID[]::new));
+            usageRollupMapper.rollupDaily(UsageRollupJob.startOfDay(from), UsageRollupJob.startOfDay(to).plusDays(1));
+        }
+
+        Map<UUID, Long> counts = new HashMap<>();
+        for (UsageEvent event : events) {
+            counts.merge(event.getTemplateId(), 1L, Long::sum);
+        }
+        // 롤백된 이벤트가 메모리 집계에 남지 않도록 커밋 후 반영
+        AfterCommit.run(() -> {
+            counts.forEach(useCountAccumulator::add);
+            for (UsageEvent event : events) {
+                weeklyRankingEngine.record(event.getTemplateId(), event.getUsedAt());
+            }
+        });
+    }
 }
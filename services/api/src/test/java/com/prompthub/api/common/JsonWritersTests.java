@@ -0,0 +1,80 @@
+package com.prompthub.api.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonWritersTests {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    static Stream<OffsetDateTime> dateTimes() {
+        return Stream.of(
+                OffsetDateTime.of(2024, 3, 1, 9, 5, 7, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(2024, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(2024, 12, 31, 23, 59, 59, 500_000_000, ZoneOffset.UTC),
+                OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 120_000, ZoneOffset.ofHours(9)),
+                OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789, ZoneOffset.ofHoursMinutes(-3, -30)),
+                OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 1, ZoneOffset.ofHoursMinutesSeconds(5, 45, 30)),
+                OffsetDateTime.of(1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999, ZoneOffset.MAX),
+                OffsetDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(-1, 6, 15, 12, 0, 0, 0, ZoneOffset.MIN));
+    }
+
+    @ParameterizedTest
+    @MethodSource("dateTimes")
+    void writeDateTimeMatchesIsoOffsetDateTime(OffsetDateTime value) throws IOException {
+        String json = write(generator -> JsonWriters.writeDateTime(generator, value, new char[JsonWriters.SCRATCH_LENGTH]));
+
+        assertThat(json).isEqualTo("\"" + DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value) + "\"");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "00000000-0000-0000-0000-000000000000",
+            "ffffffff-ffff-ffff-ffff-ffffffffffff",
+            "123e4567-e89b-12d3-a456-426614174000"
+    })
+    void writeUuidMatchesToString(String text) throws IOException {
+        UUID value = UUID.fromString(text);
+
+        String json = write(generator -> JsonWriters.writeUuid(generator, value, new char[JsonWriters.SCRATCH_LENGTH]));
+
+        assertThat(json).isEqualTo("\"" + value + "\"");
+    }
+
+    @Test
+    void writesNullForMissingValues() throws IOException {
+        char[] scratch = new char[JsonWriters.SCRATCH_LENGTH];
+
+        assertThat(write(generator -> JsonWriters.writeDateTime(generator, null, scratch))).isEqualTo("null");
+        assertThat(write(generator -> JsonWriters.writeUuid(generator, null, scratch))).isEqualTo("null");
+    }
+
+    private static String write(GeneratorAction action) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            action.write(generator);
+        }
+        return out.toString();
+    }
+
+    @FunctionalInterface
+    private interface GeneratorAction {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
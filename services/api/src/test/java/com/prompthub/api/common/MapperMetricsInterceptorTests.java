@@ -0,0 +1,101 @@
+package com.prompthub.api.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MapperMetricsInterceptorTests {
+
+    private static final String STATEMENT_ID = "com.prompthub.api.template.TemplateMapper.streamAll";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryInspector queryInspector = mock(QueryInspector.class);
+    private final MapperMetricsInterceptor interceptor = new MapperMetricsInterceptor(meterRegistry, queryInspector);
+    private final Configuration configuration = new Configuration();
+    private final MappedStatement statement = new MappedStatement.Builder(configuration, STATEMENT_ID,
+            new StaticSqlSource(configuration, "SELECT 1"), SqlCommandType.SELECT).build();
+
+    @Test
+    void cursorIsRecordedWhenClosed() throws Throwable {
+        Cursor<?> cursor = (Cursor<?>) interceptor.intercept(queryCursor(List.of("a", "b", "c")));
+        assertThat(meterRegistry.find("mybatis.statement").timer()).isNull();
+
+        int read = 0;
+        for (Object ignored : cursor) {
+            read++;
+        }
+        cursor.close();
+        cursor.close();
+
+        assertThat(read).isEqualTo(3);
+        assertThat(meterRegistry.get("mybatis.statement").tag("statement", STATEMENT_ID)
+                .tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mybatis.statement.rows").tag("statement", STATEMENT_ID)
+                .summary().totalAmount()).isEqualTo(3.0);
+        verify(queryInspector).inspect(eq(statement), any(), any(), anyLong(), eq(3));
+    }
+
+    @Test
+    void cursorFetchFailureIsRecordedAsError() throws Throwable {
+        Cursor<?> cursor = (Cursor<?>) interceptor.intercept(queryCursor(new FailingList()));
+
+        assertThatThrownBy(() -> cursor.iterator().hasNext()).isInstanceOf(IllegalStateException.class);
+        cursor.close();
+
+        assertThat(meterRegistry.get("mybatis.statement").tag("outcome", "error").timer().count()).isEqualTo(1);
+        verify(queryInspector, never()).inspect(any(), any(), any(), anyLong(), anyInt());
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private Invocation queryCursor(Iterable<?> rows) throws Exception {
+        Cursor<Object> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenAnswer(invocation -> ((Iterable<Object>) rows).iterator());
+        Executor executor = mock(Executor.class);
+        when(executor.<Object>queryCursor(any(), any(), any())).thenReturn(cursor);
+        return new Invocation(executor,
+                Executor.class.getMethod("queryCursor", MappedStatement.class, Object.class, RowBounds.class),
+                new Object[]{statement, null, RowBounds.DEFAULT});
+    }
+
+    private static final class FailingList implements Iterable<Object> {
+        @Override
+        public Iterator<Object> iterator() {
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    throw new IllegalStateException("connection closed");
+                }
+
+                @Override
+                public Object next() {
+                    throw new IllegalStateException("connection closed");
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.prompthub.api.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeBucketedBloomFilterTests {
+
+    private static final long WINDOW_MILLIS = 10_000;
+    private static final int BUCKET_COUNT = 4;
+
+    @Test
+    void putKeysAreAlwaysFoundWithinWindow() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(WINDOW_MILLIS, BUCKET_COUNT, 1_000, 0.01);
+        SplittableRandom random = new SplittableRandom(42);
+        long[][] keys = new long[1_000][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new long[]{random.nextLong(), random.nextLong() | 1L};
+            // 구간 경계를 넘나들며 넣는다
+            filter.put(keys[i][0], keys[i][1], i * 5L);
+        }
+
+        long now = keys.length * 5L;
+        for (long[] key : keys) {
+            assertThat(filter.mightContain(key[0], key[1], now)).isTrue();
+        }
+    }
+
+    @Test
+    void keysExpireAfterWindowRotation() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(WINDOW_MILLIS, BUCKET_COUNT, 1_000, 0.01);
+        filter.put(1L, 3L, 0);
+
+        assertThat(filter.mightContain(1L, 3L, WINDOW_MILLIS)).isTrue();
+        // window + 한 구간이 지나면 키를 넣은 구간은 만료된다
+        assertThat(filter.mightContain(1L, 3L, 2 * WINDOW_MILLIS)).isFalse();
+    }
+
+    @Test
+    void rotatedBucketDoesNotKeepOldKeys() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(WINDOW_MILLIS, BUCKET_COUNT, 1_000, 0.01);
+        filter.put(1L, 3L, 0);
+        long later = 4 * WINDOW_MILLIS;
+        filter.put(5L, 7L, later);
+
+        assertThat(filter.mightContain(5L, 7L, later)).isTrue();
+        assertThat(filter.mightContain(1L, 3L, later)).isFalse();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(WINDOW_MILLIS, BUCKET_COUNT, 10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(random.nextLong(), random.nextLong() | 1L, 0);
+        }
+
+        int positives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(random.nextLong(), random.nextLong() | 1L, 0)) {
+                positives++;
+            }
+        }
+        assertThat(positives).isLessThan(300);
+    }
+
+    @Test
+    void memoryIsFixedByConfiguration() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(WINDOW_MILLIS, BUCKET_COUNT, 1_000, 0.01);
+        long before = filter.memoryBytes();
+        for (long i = 0; i < 10_000; i++) {
+            filter.put(i, 2 * i + 1, i);
+        }
+        assertThat(filter.memoryBytes()).isEqualTo(before);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new TimeBucketedBloomFilter(WINDOW_MILLIS, 1, 1_000, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeBucketedBloomFilter(WINDOW_MILLIS, BUCKET_COUNT, 1_000, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.prompthub.api.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WeeklyRankingEngineTests {
+
+    private final RankingMapper rankingMapper = mock(RankingMapper.class);
+    private final WeeklyRankingEngine engine = new WeeklyRankingEngine(rankingMapper, true);
+
+    private final UUID templateA = UUID.randomUUID();
+    private final UUID templateB = UUID.randomUUID();
+
+    @Test
+    void recordsMadeDuringRebuildAreReplayedOnSnapshot() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(rankingMapper.findHourlyUsage(any())).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(10, TimeUnit.SECONDS);
+            return List.of(hourly(templateA, currentHour(), 5));
+        });
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(engine::rebuild);
+        assertThat(queryStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // 집계 쿼리가 도는 동안 여러 스레드에서 기록한다
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Void>> records = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                UUID templateId = i % 4 == 0 ? templateB : templateA;
+                records.add(CompletableFuture.runAsync(() -> engine.record(templateId, now()), executor));
+            }
+            CompletableFuture.allOf(records.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+        releaseQuery.countDown();
+        rebuild.get(10, TimeUnit.SECONDS);
+
+        assertThat(engine.isReady()).isTrue();
+        assertThat(counts()).containsEntry(templateA, 5L + 75L).containsEntry(templateB, 25L);
+    }
+
+    @Test
+    void recordsBeforeRebuildAreReplacedBySnapshot() {
+        // 기동 직후 처리된 이벤트는 이미 커밋되어 집계 결과에 포함된다
+        engine.record(templateA, now());
+        when(rankingMapper.findHourlyUsage(any())).thenReturn(List.of(hourly(templateA, currentHour(), 1)));
+
+        engine.rebuild();
+
+        assertThat(counts()).containsExactly(Map.entry(templateA, 1L));
+    }
+
+    @Test
+    void failedRebuildKeepsRecordsMadeWhileLoading() {
+        when(rankingMapper.findHourlyUsage(any())).thenAnswer(invocation -> {
+            engine.record(templateA, now());
+            throw new IllegalStateException("db down");
+        });
+
+        engine.rebuild();
+
+        assertThat(engine.isReady()).isFalse();
+        assertThat(counts()).containsExactly(Map.entry(templateA, 1L));
+    }
+
+    @Test
+    void snapshotRowsOutsideWindowAreIgnored() {
+        long hour = currentHour();
+        when(rankingMapper.findHourlyUsage(any())).thenReturn(List.of(
+                hourly(templateA, hour, 2),
+                hourly(templateA, hour - WeeklyRankingEngine.SLICE_COUNT, 100),
+                hourly(templateB, hour - WeeklyRankingEngine.SLICE_COUNT + 1, 3)));
+
+        engine.rebuild();
+
+        assertThat(counts()).containsEntry(templateA, 2L).containsEntry(templateB, 3L);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private Map<UUID, Long> counts() {
+        return engine.topCandidates(10).stream()
+                .collect(Collectors.toMap(WeeklyRankingEngine.TemplateCount::templateId,
+                        WeeklyRankingEngine.TemplateCount::count));
+    }
+
+    private static OffsetDateTime now() {
+        return OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    private static long currentHour() {
+        return Math.floorDiv(Instant.now().getEpochSecond(), 3600);
+    }
+
+    private static HourlyUsage hourly(UUID templateId, long bucketHour, long useCount) {
+        HourlyUsage usage = new HourlyUsage();
+        usage.setTemplateId(templateId);
+        usage.setBucketHour(bucketHour);
+        usage.setUseCount(useCount);
+        return usage;
+    }
+}
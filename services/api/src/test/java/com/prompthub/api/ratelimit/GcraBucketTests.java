@@ -0,0 +1,57 @@
+package com.prompthub.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraBucketTests {
+
+    // 분당 60회 = 1초 간격
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenRejectsWithRetryDelay() {
+        GcraBucket bucket = new GcraBucket(INTERVAL, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void refillsOneRequestPerInterval() {
+        GcraBucket bucket = new GcraBucket(INTERVAL, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        long halfInterval = INTERVAL / 2;
+        assertThat(bucket.tryAcquire(halfInterval)).isEqualTo(INTERVAL - halfInterval);
+        assertThat(bucket.tryAcquire(INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(INTERVAL)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeCapacity() {
+        GcraBucket bucket = new GcraBucket(INTERVAL, 1, 0);
+        bucket.tryAcquire(0);
+        for (int i = 0; i < 100; i++) {
+            assertThat(bucket.tryAcquire(0)).isPositive();
+        }
+
+        assertThat(bucket.tryAcquire(INTERVAL)).isZero();
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondBurst() {
+        GcraBucket bucket = new GcraBucket(INTERVAL, 3, 0);
+        long later = TimeUnit.HOURS.toNanos(1);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+}
@@ -0,0 +1,54 @@
+package com.prompthub.api.template;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemplateCursorTests {
+
+    @Test
+    void encodeDecodeRoundTripKeepsInstantAndId() {
+        OffsetDateTime updatedAt = OffsetDateTime.of(2024, 5, 6, 7, 8, 9, 123_456_000, ZoneOffset.ofHours(9));
+        TemplateCursor cursor = new TemplateCursor(updatedAt, UUID.randomUUID());
+
+        TemplateCursor decoded = TemplateCursor.decode(cursor.encode());
+
+        assertThat(decoded.id()).isEqualTo(cursor.id());
+        assertThat(decoded.updatedAt().toInstant()).isEqualTo(updatedAt.toInstant());
+        assertThat(decoded.updatedAt().getOffset()).isEqualTo(ZoneOffset.UTC);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafeWithoutPadding() {
+        TemplateCursor cursor = new TemplateCursor(OffsetDateTime.now(ZoneOffset.UTC), UUID.randomUUID());
+
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void ofUsesTemplateUpdatedAtAndId() {
+        Template template = new Template();
+        template.setId(UUID.randomUUID());
+        template.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+
+        TemplateCursor cursor = TemplateCursor.of(template);
+
+        assertThat(cursor.id()).isEqualTo(template.getId());
+        assertThat(cursor.updatedAt()).isEqualTo(template.getUpdatedAt());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "MTIz", "YS5iLmM", "MTcwMDAwMDAwMC4wLm5vdC1hLXV1aWQ"})
+    void decodeRejectsMalformedCursor(String value) {
+        assertThatThrownBy(() -> TemplateCursor.decode(value))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
@@ -0,0 +1,111 @@
+package com.prompthub.api.template;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class UseCountAccumulatorTests {
+
+    private final TemplateMapper templateMapper = mock(TemplateMapper.class);
+    private final TemplateCache templateCache = mock(TemplateCache.class);
+    private final UseCountAccumulator accumulator = new UseCountAccumulator(templateMapper, templateCache);
+
+    @Test
+    void flushWritesAccumulatedDeltasAndEvictsCachedTemplates() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        accumulator.increment(a);
+        accumulator.increment(a);
+        accumulator.add(b, 5);
+
+        accumulator.flush();
+
+        verify(templateMapper).addUseCounts(Map.of(a, 2L, b, 5L));
+        verify(templateCache).evict(a);
+        verify(templateCache).evict(b);
+        assertThat(accumulator.pending(a)).isZero();
+        assertThat(accumulator.pending(b)).isZero();
+    }
+
+    @Test
+    void flushWithoutDeltasDoesNothing() {
+        UUID a = UUID.randomUUID();
+        accumulator.increment(a);
+        accumulator.flush();
+
+        accumulator.flush();
+
+        verify(templateMapper, times(1)).addUseCounts(anyMap());
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForNextFlush() {
+        UUID a = UUID.randomUUID();
+        accumulator.add(a, 3);
+        doThrow(new IllegalStateException("db down")).when(templateMapper).addUseCounts(anyMap());
+
+        accumulator.flush();
+
+        assertThat(accumulator.pending(a)).isEqualTo(3);
+        verify(templateCache, never()).evict(any());
+    }
+
+    @Test
+    void incrementsDuringFlushRemainPending() {
+        UUID a = UUID.randomUUID();
+        accumulator.add(a, 2);
+        // DB 반영 도중 들어온 증가분은 다음 flush로 넘어가야 한다
+        doAnswer(invocation -> {
+            accumulator.increment(a);
+            return 1;
+        }).when(templateMapper).addUseCounts(anyMap());
+
+        accumulator.flush();
+
+        assertThat(accumulator.pending(a)).isEqualTo(1);
+    }
+
+    @Test
+    void flushSplitsLargeBatchesIntoChunks() {
+        Map<UUID, Long> expected = new HashMap<>();
+        for (int i = 0; i < 1_500; i++) {
+            UUID id = UUID.randomUUID();
+            accumulator.increment(id);
+            expected.put(id, 1L);
+        }
+
+        accumulator.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<UUID, Long>> chunks = ArgumentCaptor.forClass(Map.class);
+        verify(templateMapper, times(2)).addUseCounts(chunks.capture());
+        Map<UUID, Long> flushed = new HashMap<>();
+        chunks.getAllValues().forEach(flushed::putAll);
+        assertThat(flushed).isEqualTo(expected);
+        assertThat(chunks.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(1_000));
+    }
+
+    @Test
+    void shutdownFlushesPendingDeltas() {
+        UUID a = UUID.randomUUID();
+        accumulator.increment(a);
+
+        accumulator.flushOnShutdown();
+
+        verify(templateMapper).addUseCounts(Map.of(a, 1L));
+        assertThat(accumulator.pending(a)).isZero();
+    }
+}
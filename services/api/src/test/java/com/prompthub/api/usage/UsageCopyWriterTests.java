@@ -0,0 +1,129 @@
+package com.prompthub.api.usage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UsageCopyWriterTests {
+
+    private static final byte[] HEADER = {
+            'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0,
+            0, 0, 0, 0
+    };
+    /** 헤더 + tuple 1개 + trailer가 겨우 들어가는 최소 버퍼 */
+    private static final int MIN_BUFFER_BYTES = 19 + 74 + 2;
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final UsageMapper usageMapper = mock(UsageMapper.class);
+    private final CopyIn copyIn = mock(CopyIn.class);
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        doAnswer(invocation -> {
+            copied.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    void probeSendsHeaderAndTrailerOnly() {
+        UsageCopyWriter writer = new UsageCopyWriter(dataSource, usageMapper, true, 65_536, 1);
+
+        writer.probe();
+
+        assertThat(writer.isCopyAvailable()).isTrue();
+        assertThat(copied.toByteArray()).isEqualTo(ByteBuffer.allocate(HEADER.length + 2)
+                .put(HEADER).putShort((short) -1).array());
+    }
+
+    @Test
+    void writeEncodesEventsAsBinaryTuples() throws Exception {
+        UsageCopyWriter writer = new UsageCopyWriter(dataSource, usageMapper, true, MIN_BUFFER_BYTES, 1);
+        writer.probe();
+        copied.reset();
+        List<UsageEvent> events = List.of(
+                event(OffsetDateTime.of(2000, 1, 1, 0, 0, 1, 2_000, ZoneOffset.UTC)),
+                event(OffsetDateTime.of(1999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC)),
+                event(OffsetDateTime.of(2024, 5, 1, 21, 0, 0, 123_456_789, ZoneOffset.ofHours(9))));
+        when(copyIn.endCopy()).thenReturn(3L);
+
+        int written = writer.write(events);
+
+        assertThat(written).isEqualTo(3);
+        ByteBuffer expected = ByteBuffer.allocate(HEADER.length + events.size() * 74 + 2).put(HEADER);
+        long[] micros = {1_000_002L, -1_000_000L, 767_880_000_123_456L};
+        for (int i = 0; i < events.size(); i++) {
+            UsageEvent event = events.get(i);
+            expected.putShort((short) 4);
+            putUuid(expected, event.getId());
+            putUuid(expected, event.getTemplateId());
+            putUuid(expected, event.getUserId());
+            expected.putInt(8).putLong(micros[i]);
+        }
+        expected.putShort((short) -1);
+        assertThat(copied.toByteArray()).isEqualTo(expected.array());
+        verify(usageMapper, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void writeFallsBackToInsertWhenCopyIsDisabled() {
+        UsageCopyWriter writer = new UsageCopyWriter(dataSource, usageMapper, false, 65_536, 1);
+        writer.probe();
+        List<UsageEvent> events = List.of(event(OffsetDateTime.now(ZoneOffset.UTC)));
+        when(usageMapper.insertBatch(events)).thenReturn(1);
+
+        assertThat(writer.isCopyAvailable()).isFalse();
+        assertThat(writer.write(events)).isEqualTo(1);
+        assertThat(copied.size()).isZero();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static UsageEvent event(OffsetDateTime usedAt) {
+        UsageEvent event = new UsageEvent();
+        event.setId(UUID.randomUUID());
+        event.setTemplateId(UUID.randomUUID());
+        event.setUserId(UUID.randomUUID());
+        event.setUsedAt(usedAt);
+        return event;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putInt(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits());
+    }
+}
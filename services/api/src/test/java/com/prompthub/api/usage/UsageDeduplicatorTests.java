@@ -0,0 +1,209 @@
+package com.prompthub.api.usage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UsageDeduplicatorTests {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final UsageMapper usageMapper = mock(UsageMapper.class);
+    private final UsageEventWriter usageEventWriter = mock(UsageEventWriter.class);
+    private SimpleMeterRegistry meterRegistry;
+    private UsageDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = create(true);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Idempotency-Key
+    // -------------------------------------------------------------------------
+
+    @Test
+    void idempotentReplaysFirstResultForSameKey() {
+        UUID userId = UUID.randomUUID();
+        UUID templateId = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+        UsageService.Result first = new UsageService.Result(null, false);
+
+        UsageService.Result result1 = deduplicator.idempotent(userId, "key-1", templateId, () -> {
+            calls.incrementAndGet();
+            return first;
+        });
+        UsageService.Result result2 = deduplicator.idempotent(userId, "key-1", templateId, () -> {
+            calls.incrementAndGet();
+            return new UsageService.Result(null, false);
+        });
+
+        assertThat(result1).isSameAs(first);
+        assertThat(result2).isSameAs(first);
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("usage.dedup.rejected").tag("reason", "idempotency_key").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void idempotentRejectsKeyReusedForDifferentTemplate() {
+        UUID userId = UUID.randomUUID();
+        deduplicator.idempotent(userId, "key-1", UUID.randomUUID(), () -> new UsageService.Result(null, false));
+
+        // GlobalExceptionHandler가 IllegalArgumentException을 400으로 변환한다
+        assertThatThrownBy(() -> deduplicator.idempotent(userId, "key-1", UUID.randomUUID(),
+                () -> new UsageService.Result(null, false)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already used");
+    }
+
+    @Test
+    void idempotentKeysAreScopedPerUser() {
+        UUID templateId = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+
+        deduplicator.idempotent(UUID.randomUUID(), "key-1", templateId, () -> {
+            calls.incrementAndGet();
+            return new UsageService.Result(null, false);
+        });
+        deduplicator.idempotent(UUID.randomUUID(), "key-1", templateId, () -> {
+            calls.incrementAndGet();
+            return new UsageService.Result(null, false);
+        });
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void idempotentForgetsFailedAttempt() {
+        UUID userId = UUID.randomUUID();
+        UUID templateId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> deduplicator.idempotent(userId, "key-1", templateId, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        UsageService.Result retried = new UsageService.Result(null, false);
+        assertThat(deduplicator.idempotent(userId, "key-1", templateId, () -> retried)).isSameAs(retried);
+    }
+
+    @Test
+    void idempotentRejectsBlankOrOversizedKey() {
+        UUID userId = UUID.randomUUID();
+        UUID templateId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> deduplicator.idempotent(userId, " ", templateId,
+                () -> new UsageService.Result(null, false)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> deduplicator.idempotent(userId, "k".repeat(256), templateId,
+                () -> new UsageService.Result(null, false)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // -------------------------------------------------------------------------
+    // (user, template) window
+    // -------------------------------------------------------------------------
+
+    @Test
+    void firstEventSkipsExactLookup() {
+        assertThat(deduplicator.findDuplicate(event(UUID.randomUUID(), UUID.randomUUID(), NOW))).isEmpty();
+
+        verifyNoInteractions(usageMapper, usageEventWriter);
+    }
+
+    @Test
+    void repeatedEventWithinWindowReturnsStoredEvent() {
+        UUID userId = UUID.randomUUID();
+        UUID templateId = UUID.randomUUID();
+        UsageEvent first = event(userId, templateId, NOW);
+        deduplicator.findDuplicate(first);
+        when(usageMapper.findRecent(any(), any(), any())).thenReturn(Optional.of(first));
+
+        Optional<UsageEvent> duplicate = deduplicator.findDuplicate(event(userId, templateId, NOW.plusSeconds(3)));
+
+        assertThat(duplicate).containsSame(first);
+        assertThat(meterRegistry.get("usage.dedup.rejected").tag("reason", "window").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void queuedEventIsCheckedBeforeDatabase() {
+        UUID userId = UUID.randomUUID();
+        UUID templateId = UUID.randomUUID();
+        UsageEvent first = event(userId, templateId, NOW);
+        deduplicator.findDuplicate(first);
+        when(usageEventWriter.findQueued(any(), any(), any())).thenReturn(Optional.of(first));
+
+        assertThat(deduplicator.findDuplicate(event(userId, templateId, NOW.plusSeconds(1)))).containsSame(first);
+        verifyNoInteractions(usageMapper);
+    }
+
+    @Test
+    void concurrentEventInSameTransactionWindowIsDuplicate() {
+        TransactionSynchronizationManager.initSynchronization();
+        UUID userId = UUID.randomUUID();
+        UUID templateId = UUID.randomUUID();
+        UsageEvent first = event(userId, templateId, NOW);
+
+        assertThat(deduplicator.findDuplicate(first)).isEmpty();
+        assertThat(deduplicator.findDuplicate(event(userId, templateId, NOW))).containsSame(first);
+
+        // 커밋 후에는 처리 중 등록이 해제되어 exact 조회로 확인한다
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(deduplicator.findDuplicate(event(userId, templateId, NOW))).isEmpty();
+    }
+
+    @Test
+    void disabledDeduplicatorNeverReportsDuplicates() {
+        UsageDeduplicator disabled = create(false);
+        UUID userId = UUID.randomUUID();
+        UUID templateId = UUID.randomUUID();
+
+        assertThat(disabled.findDuplicate(event(userId, templateId, NOW))).isEmpty();
+        assertThat(disabled.findDuplicate(event(userId, templateId, NOW))).isEmpty();
+        verifyNoInteractions(usageMapper, usageEventWriter);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private UsageDeduplicator create(boolean enabled) {
+        return new UsageDeduplicator(usageMapper, usageEventWriter, meterRegistry,
+                enabled, 10, 4, 1_000, 0.01, 3_600, 1_000);
+    }
+
+    private static UsageEvent event(UUID userId, UUID templateId, OffsetDateTime usedAt) {
+        UsageEvent event = new UsageEvent();
+        event.setId(UUID.randomUUID());
+        event.setUserId(userId);
+        event.setTemplateId(templateId);
+        event.setUsedAt(usedAt);
+        return event;
+    }
+}
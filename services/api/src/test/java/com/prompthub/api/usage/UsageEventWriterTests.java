@@ -0,0 +1,103 @@
+package com.prompthub.api.usage;
+
+import com.prompthub.api.common.ServiceUnavailableException;
+import com.prompthub.api.ranking.WeeklyRankingEngine;
+import com.prompthub.api.template.UseCountAccumulator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UsageEventWriterTests {
+
+    private final UsageCopyWriter usageCopyWriter = mock(UsageCopyWriter.class);
+    private final UseCountAccumulator useCountAccumulator = mock(UseCountAccumulator.class);
+    private final WeeklyRankingEngine weeklyRankingEngine = mock(WeeklyRankingEngine.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UsageEventWriter writer = new UsageEventWriter(usageCopyWriter, useCountAccumulator,
+            weeklyRankingEngine, meterRegistry, "async", 100, 100, 10, 10, 5_000, 1, 5);
+
+    @AfterEach
+    void stopWriter() {
+        writer.stop();
+    }
+
+    @Test
+    void writtenEventsAreCountedAfterFlush() {
+        UsageEvent first = event(UUID.randomUUID());
+        UsageEvent second = event(UUID.randomUUID());
+        when(usageCopyWriter.write(anyList())).thenReturn(1);
+        writer.start();
+
+        writer.submit(first);
+        writer.submit(second);
+        writer.stop();
+
+        verify(useCountAccumulator).add(first.getTemplateId(), 1L);
+        verify(useCountAccumulator).add(second.getTemplateId(), 1L);
+        verify(weeklyRankingEngine).record(first.getTemplateId(), first.getUsedAt());
+        verify(weeklyRankingEngine).record(second.getTemplateId(), second.getUsedAt());
+    }
+
+    @Test
+    void failedFlushIsRetriedBeforeCounting() {
+        UUID templateId = UUID.randomUUID();
+        UsageEvent event = event(templateId);
+        when(usageCopyWriter.write(anyList()))
+                .thenThrow(new TransientDataAccessResourceException("connection reset"))
+                .thenReturn(1);
+        writer.start();
+
+        writer.submit(event);
+        writer.stop();
+
+        verify(usageCopyWriter, times(2)).write(anyList());
+        verify(useCountAccumulator).add(templateId, 1L);
+        verify(weeklyRankingEngine).record(templateId, event.getUsedAt());
+    }
+
+    @Test
+    void droppedBatchLeavesCountersUntouched() {
+        when(usageCopyWriter.write(anyList()))
+                .thenThrow(new DataIntegrityViolationException("violates foreign key constraint"));
+        writer.start();
+
+        writer.submit(event(UUID.randomUUID()));
+        writer.submit(event(UUID.randomUUID()));
+        writer.stop();
+
+        // 기록하지 못한 이벤트는 use_count와 랭킹에도 남지 않아야 한다
+        verifyNoInteractions(useCountAccumulator, weeklyRankingEngine);
+        assertThat(meterRegistry.get("usage.ingestion.dropped").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void submitIsRejectedWhenWriterIsNotRunning() {
+        assertThatThrownBy(() -> writer.submit(event(UUID.randomUUID())))
+                .isInstanceOf(ServiceUnavailableException.class);
+        verifyNoInteractions(usageCopyWriter, useCountAccumulator, weeklyRankingEngine);
+    }
+
+    private static UsageEvent event(UUID templateId) {
+        UsageEvent event = new UsageEvent();
+        event.setId(UUID.randomUUID());
+        event.setTemplateId(templateId);
+        event.setUserId(UUID.randomUUID());
+        event.setUsedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        return event;
+    }
+}
@@ -0,0 +1,128 @@
+package com.prompthub.api.usage;
+
+import com.prompthub.api.ranking.WeeklyRankingEngine;
+import com.prompthub.api.template.Template;
+import com.prompthub.api.template.TemplateCache;
+import com.prompthub.api.template.TemplateMapper;
+import com.prompthub.api.template.UseCountAccumulator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * recordUsage의 메모리 집계(use_count 누산기, 주간 랭킹)가 커밋된 이벤트에만 반영되는지 확인한다.
+ * 트랜잭션은 TransactionSynchronizationManager로 흉내 낸다.
+ */
+class UsageServiceTests {
+
+    private final UsageMapper usageMapper = mock(UsageMapper.class);
+    private final TemplateCache templateCache = mock(TemplateCache.class);
+    private final UsageEventWriter usageEventWriter = mock(UsageEventWriter.class);
+    private final UsageDeduplicator usageDeduplicator = mock(UsageDeduplicator.class);
+    private final UseCountAccumulator useCountAccumulator = mock(UseCountAccumulator.class);
+    private final WeeklyRankingEngine weeklyRankingEngine = mock(WeeklyRankingEngine.class);
+    private final UsageService usageService = new UsageService(usageMapper, mock(UsageCopyWriter.class),
+            mock(UsageRollupMapper.class), mock(TemplateMapper.class), templateCache, usageEventWriter,
+            usageDeduplicator, useCountAccumulator, weeklyRankingEngine, 7, 300, 35);
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID templateId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        Template template = new Template();
+        template.setId(templateId);
+        template.setOwnerId(userId);
+        template.setPublic(true);
+        when(templateCache.findById(templateId)).thenReturn(Optional.of(template));
+        when(usageDeduplicator.findDuplicate(any())).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void rollbackLeavesAccumulatorAndRankingUnchanged() {
+        usageService.recordUsage(request(), userId);
+
+        complete(false);
+
+        verify(usageMapper).insert(any());
+        verifyNoInteractions(useCountAccumulator, weeklyRankingEngine);
+    }
+
+    @Test
+    void commitAppliesUseCountAndRanking() {
+        UsageService.Result result = usageService.recordUsage(request(), userId);
+        verifyNoInteractions(useCountAccumulator, weeklyRankingEngine);
+
+        complete(true);
+
+        verify(useCountAccumulator).increment(templateId);
+        verify(weeklyRankingEngine).record(templateId, result.response().getUsedAt());
+    }
+
+    @Test
+    void asyncModeEnqueuesOnlyAfterCommit() {
+        when(usageEventWriter.isEnabled()).thenReturn(true);
+
+        usageService.recordUsage(request(), userId);
+        complete(false);
+
+        // 롤백된 요청은 큐에 들어가지 않고, 집계는 writer가 기록 후 반영하므로 여기서는 건드리지 않는다
+        verify(usageEventWriter, never()).submit(any());
+        verifyNoInteractions(usageMapper, useCountAccumulator, weeklyRankingEngine);
+    }
+
+    @Test
+    void asyncModeEnqueuesAfterCommit() {
+        when(usageEventWriter.isEnabled()).thenReturn(true);
+
+        UsageService.Result result = usageService.recordUsage(request(), userId);
+        complete(true);
+
+        verify(usageEventWriter).submit(any());
+        assertThat(result.duplicate()).isFalse();
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private UsageDto.CreateRequest request() {
+        UsageDto.CreateRequest request = new UsageDto.CreateRequest();
+        ReflectionTestUtils.setField(request, "templateId", templateId);
+        return request;
+    }
+
+    /**
+     * 커밋이면 afterCommit, 롤백이면 afterCompletion(ROLLED_BACK)만 호출한다 (Spring 트랜잭션 매니저와 같은 순서).
+     */
+    private static void complete(boolean committed) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (committed) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(committed
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+}